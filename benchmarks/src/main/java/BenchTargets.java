@@ -0,0 +1,72 @@
+import rolldice.bench.Targets;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+
+public class BenchTargets implements Targets {
+
+    private final GameLogic game;
+    private final GameSimulator simulator;
+    private final ShortestPathSolver solver;
+    private final BoardPanel boardPanel;
+    private final BufferedImage canvas;
+    private final MovePath path = new MovePath();
+
+    public BenchTargets(int nodeCount, int players) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= players; i++) names.add("Player " + i);
+        game = new GameLogic(nodeCount, names, 42L);
+        simulator = new GameSimulator(game, 42L);
+        solver = new ShortestPathSolver(game.getLayout());
+
+        boardPanel = new BoardPanel(GameSnapshot.of(game), null);
+        boardPanel.setSize(700, 700);
+        canvas = new BufferedImage(700, 700, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Override
+    public int rollAndMove() {
+        int dice = game.rollDice();
+        game.moveCurrentPlayer(dice, path);
+        if (game.getCurrentPlayer().position >= game.getNodeCount()) game.resetGame();
+        else game.advanceTurn();
+        return path.length();
+    }
+
+    @Override
+    public int resetGame() {
+        game.resetGame();
+        return game.getLadders().size();
+    }
+
+    @Override
+    public int playSimulatedGame() {
+        return simulator.playGame();
+    }
+
+    @Override
+    public int shortestPathToFinish() {
+        return solver.shortestPath(1, game.getNodeCount()).length;
+    }
+
+    @Override
+    public int buildDistanceTable() {
+        return new ShortestPathSolver(game.getLayout()).getMinRollsToFinish(1);
+    }
+
+    @Override
+    public int paintBoard() {
+        Graphics2D g = canvas.createGraphics();
+        boardPanel.paint(g);
+        g.dispose();
+        return canvas.getRGB(350, 350);
+    }
+
+    @Override
+    public int paintBoardCold() {
+        boardPanel.invalidateBoard();
+        return paintBoard();
+    }
+}
@@ -0,0 +1,32 @@
+package rolldice.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Offscreen BoardPanel painting; forks run with java.awt.headless=true.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardPaintBenchmark {
+
+    Targets targets;
+
+    @Setup
+    public void setup() {
+        targets = Targets.create(100, 5);
+    }
+
+    @Benchmark
+    public int paintCachedBoard() {
+        return targets.paintBoard();
+    }
+
+    @Benchmark
+    public int paintRebuiltBoard() {
+        return targets.paintBoardCold();
+    }
+}
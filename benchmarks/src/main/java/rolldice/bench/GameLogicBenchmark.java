@@ -0,0 +1,40 @@
+package rolldice.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+
+    @Param({"2", "5"})
+    int players;
+
+    Targets targets;
+
+    @Setup
+    public void setup() {
+        targets = Targets.create(100, players);
+    }
+
+    @Benchmark
+    public int rollAndMove() {
+        return targets.rollAndMove();
+    }
+
+    @Benchmark
+    public int resetGameWithLadders() {
+        return targets.resetGame();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int simulatedFullGame() {
+        return targets.playSimulatedGame();
+    }
+}
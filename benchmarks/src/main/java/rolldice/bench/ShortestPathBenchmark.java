@@ -0,0 +1,34 @@
+package rolldice.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortestPathBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int nodeCount;
+
+    Targets targets;
+
+    @Setup
+    public void setup() {
+        targets = Targets.create(nodeCount, 2);
+    }
+
+    @Benchmark
+    public int shortestPath() {
+        return targets.shortestPathToFinish();
+    }
+
+    @Benchmark
+    public int distanceTable() {
+        return targets.buildDistanceTable();
+    }
+}
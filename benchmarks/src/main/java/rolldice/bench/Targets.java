@@ -0,0 +1,36 @@
+package rolldice.bench;
+
+// JMH cannot generate code for benchmarks in the default package, where the game classes live,
+// and named packages cannot import from it. The game-side calls therefore sit in the
+// default-package BenchTargets, reached through this interface (monomorphic, so the JIT inlines it).
+public interface Targets {
+
+    // rollDice + moveCurrentPlayer + advanceTurn; a finished game is reset in place
+    int rollAndMove();
+
+    // resetGame(), which regenerates the ladders
+    int resetGame();
+
+    // one complete headless game through GameSimulator
+    int playSimulatedGame();
+
+    int shortestPathToFinish();
+
+    int buildDistanceTable();
+
+    // BoardPanel.paint into an offscreen image with the cached board layer
+    int paintBoard();
+
+    // same, but the board layer is rebuilt first
+    int paintBoardCold();
+
+    static Targets create(int nodeCount, int players) {
+        try {
+            return (Targets) Class.forName("BenchTargets")
+                    .getConstructor(int.class, int.class)
+                    .newInstance(nodeCount, players);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("BenchTargets not on the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import javax.swing.Timer;
+import java.util.*;
+
+// One frame clock for everything that moves on screen. Tracks are advanced with the time elapsed
+// on a shared timeline, then the frame listeners (e.g. a panel flushing its dirty area) run once,
+// so a frame costs one repaint however many tracks are active. The clock only runs while a track
+// is playing. Turbo speeds the timeline up; the frame rate, and so the CPU cost, stays the same.
+// EDT only.
+public final class AnimationScheduler {
+
+    // Advances to time ms since the track started; returns false once finished.
+    public interface Track {
+        boolean advance(double time);
+    }
+
+    public static final int FRAME_MILLIS = 16;
+    public static final double TURBO_SPEED = 4.0;
+
+    private final Timer clock = new Timer(FRAME_MILLIS, e -> frame());
+    private final List<Playing> tracks = new ArrayList<>();
+    private final List<Runnable> frameListeners = new ArrayList<>();
+
+    private double timeline;
+    private long lastFrameNanos;
+    private double speed = 1.0;
+
+    public AnimationScheduler() {
+        clock.setCoalesce(true);
+    }
+
+    // Starts track at the current timeline position; it sees time 0 right away, so start cues fire now.
+    public void play(Track track) {
+        if (!track.advance(0)) return;
+        if (!clock.isRunning()) {
+            lastFrameNanos = System.nanoTime();
+            clock.start();
+        }
+        tracks.add(new Playing(track, timeline));
+    }
+
+    public void addFrameListener(Runnable listener) {
+        frameListeners.add(listener);
+    }
+
+    public void setTurbo(boolean turbo) {
+        speed = turbo ? TURBO_SPEED : 1.0;
+    }
+
+    public boolean isTurbo() {
+        return speed != 1.0;
+    }
+
+    public boolean isIdle() {
+        return tracks.isEmpty();
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        if (Metrics.ENABLED) {
+            // a tick arriving n frames late stands for n frames that were never shown
+            Metrics.FRAMES.increment();
+            long late = Math.round((now - lastFrameNanos) / 1e6 / FRAME_MILLIS) - 1;
+            if (late > 0) Metrics.FRAMES_DROPPED.add(late);
+        }
+        timeline += (now - lastFrameNanos) / 1e6 * speed;
+        lastFrameNanos = now;
+
+        // tracks started by a finishing track are appended and join this same frame
+        for (int i = 0; i < tracks.size(); i++) {
+            Playing playing = tracks.get(i);
+            playing.finished = !playing.track.advance(timeline - playing.start);
+        }
+        tracks.removeIf(p -> p.finished);
+
+        for (Runnable listener : frameListeners) listener.run();
+        if (tracks.isEmpty()) clock.stop();
+    }
+
+    private static final class Playing {
+        final Track track;
+        final double start;
+        boolean finished;
+
+        Playing(Track track, double start) {
+            this.track = track;
+            this.start = start;
+        }
+    }
+}
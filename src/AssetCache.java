@@ -0,0 +1,120 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Decodes every image resource once and keeps ready-to-blit variants (scaled, circular crop) per size.
+// Variants sit in a small LRU so sizes left behind by a resize fall out on their own.
+public final class AssetCache {
+
+    private static final AssetCache INSTANCE = new AssetCache();
+    private static final int MAX_VARIANTS = 96;
+
+    private final Map<String, Optional<BufferedImage>> decoded = new ConcurrentHashMap<>();
+    private final Map<String, BufferedImage> variants = new LinkedHashMap<>(MAX_VARIANTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return size() > MAX_VARIANTS;
+        }
+    };
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "asset-preload");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private AssetCache() {
+    }
+
+    public static AssetCache get() {
+        return INSTANCE;
+    }
+
+    // Decodes the given resources on a background thread.
+    public Future<?> preload(String... paths) {
+        return loader.submit(() -> {
+            for (String path : paths) image(path);
+        });
+    }
+
+    // Original decoded image, or null if the resource does not exist.
+    public BufferedImage image(String path) {
+        return decoded.computeIfAbsent(path, AssetCache::decode).orElse(null);
+    }
+
+    public BufferedImage scaled(String path, int w, int h) {
+        BufferedImage src = image(path);
+        if (src == null || w <= 0 || h <= 0) return null;
+        String key = path + "@" + w + "x" + h;
+        synchronized (variants) {
+            BufferedImage cached = variants.get(key);
+            if (cached != null) return cached;
+        }
+
+        BufferedImage out = createImage(w, h);
+        Graphics2D g2 = out.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(src, 0, 0, w, h, null);
+        g2.dispose();
+        return remember(key, out);
+    }
+
+    // Image cropped to a circle of the given diameter, with a black outline when borderWidth > 0.
+    public BufferedImage circular(String path, int size, float borderWidth) {
+        BufferedImage src = image(path);
+        if (src == null || size <= 0) return null;
+        String key = path + "@circle" + size + "/" + borderWidth;
+        synchronized (variants) {
+            BufferedImage cached = variants.get(key);
+            if (cached != null) return cached;
+        }
+
+        BufferedImage out = createImage(size, size);
+        Graphics2D g2 = out.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        Shape circle = new Ellipse2D.Float(borderWidth / 2, borderWidth / 2, size - borderWidth, size - borderWidth);
+        g2.setClip(circle);
+        g2.drawImage(src, 0, 0, size, size, null);
+        g2.setClip(null);
+        if (borderWidth > 0) {
+            g2.setColor(Color.BLACK);
+            g2.setStroke(new BasicStroke(borderWidth));
+            g2.draw(circle);
+        }
+        g2.dispose();
+        return remember(key, out);
+    }
+
+    private BufferedImage remember(String key, BufferedImage img) {
+        synchronized (variants) {
+            BufferedImage raced = variants.putIfAbsent(key, img);
+            return raced != null ? raced : img;
+        }
+    }
+
+    private static BufferedImage createImage(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static Optional<BufferedImage> decode(String path) {
+        URL url = AssetCache.class.getResource(path);
+        if (url == null) return Optional.empty();
+        try {
+            return Optional.ofNullable(ImageIO.read(url));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
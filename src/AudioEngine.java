@@ -0,0 +1,90 @@
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+
+// Sound effects decoded once into PCM and played from a few pre-opened Clips per sound.
+// Playing a sound rewinds the next Clip in its pool; no streams, lines or threads are created per play.
+public final class AudioEngine {
+
+    public enum Sound {
+        ROLL("roll_dice.wav"),
+        STEP("steps.wav");
+
+        final String file;
+
+        Sound(String file) {
+            this.file = file;
+        }
+    }
+
+    private final Map<Sound, Clip[]> pools = new EnumMap<>(Sound.class);
+    private final int[] nextVoice = new int[Sound.values().length];
+
+    public AudioEngine(int voicesPerSound) {
+        List<String> failed = new ArrayList<>();
+        String reason = null;
+        for (Sound sound : Sound.values()) {
+            try {
+                Clip[] pool = openPool(sound, voicesPerSound);
+                if (pool != null) pools.put(sound, pool);
+            } catch (UnsupportedAudioFileException | IOException | LineUnavailableException
+                     | IllegalArgumentException e) {
+                failed.add(sound.file);
+                if (reason == null) reason = e.getMessage();
+            }
+        }
+        // no mixer or unreadable files: the game simply runs silent, with one line saying so
+        if (!failed.isEmpty()) System.err.println("Audio disabled for " + String.join(", ", failed) + ": " + reason);
+    }
+
+    // Null when the sound file is not bundled.
+    private Clip[] openPool(Sound sound, int voices)
+            throws UnsupportedAudioFileException, IOException, LineUnavailableException {
+        URL url = getClass().getResource("/sounds/" + sound.file);
+        if (url == null) url = getClass().getResource("/" + sound.file);
+        if (url == null) return null;
+
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat src = in.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, src.getSampleRate(), 16,
+                    src.getChannels(), src.getChannels() * 2, src.getSampleRate(), false);
+            AudioInputStream decoded = src.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED)
+                    ? in : AudioSystem.getAudioInputStream(pcm, in);
+            AudioFormat format = decoded.getFormat();
+            byte[] data = decoded.readAllBytes();
+
+            Clip[] pool = new Clip[voices];
+            try {
+                for (int i = 0; i < voices; i++) {
+                    pool[i] = AudioSystem.getClip();
+                    pool[i].open(format, data, 0, data.length);
+                }
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                for (Clip clip : pool) if (clip != null) clip.close();
+                throw e;
+            }
+            return pool;
+        }
+    }
+
+    // Called from the EDT only.
+    public void play(Sound sound) {
+        Clip[] pool = pools.get(sound);
+        if (pool == null) return;
+        int voice = nextVoice[sound.ordinal()];
+        nextVoice[sound.ordinal()] = (voice + 1) % pool.length;
+
+        Clip clip = pool[voice];
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+    }
+
+    public void close() {
+        for (Clip[] pool : pools.values()) {
+            for (Clip clip : pool) clip.close();
+        }
+        pools.clear();
+    }
+}
@@ -0,0 +1,255 @@
+import java.util.*;
+
+// Many games on one board stored column-wise: positions and extra turns for every seat of every
+// running game sit in flat primitive arrays. The columns are cut into blocks of
+// BLOCK games that fit in cache, with each block's running games packed at its start. A turn is a
+// few straight passes over a block; a finished game's slot is refilled from the block's last running
+// one. Same rules as GameLogic.
+//
+// JDK 17 ships the Vector API only as an incubator module, so the passes are plain scalar loops kept
+// free of object access and (apart from the table lookup) of branches, which is the shape C2 unrolls
+// and, for the arithmetic-only roll pass, can auto-vectorize.
+public final class BatchSimulator {
+
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+    private static final int BLOCK = 4096;
+
+    private final int nodeCount;
+    private final int playerCount;
+    private final int gameCount;
+    private final int[] next;
+    private final byte[] star;
+    private final int maxTurns;
+
+    // per slot (running game), moved together when slots are compacted
+    private final int[] gameId;
+    private final long[] rngState;
+    private final byte[] seat;
+    private final byte[] move;
+    // per slot * playerCount + seat
+    private final int[] positions;
+    private final byte[] extraTurns;
+
+    // per game id
+    private final byte[] winner;
+    private final int[] turns;
+
+    // per block: running games (slots block * BLOCK ..) and turns played
+    private final int[] blockRunning;
+    private final int[] blockTurn;
+
+    public BatchSimulator(BoardLayout board, int playerCount, int gameCount) {
+        if (playerCount < 1 || playerCount > 127) throw new IllegalArgumentException("players: " + playerCount);
+        if (gameCount < 1) throw new IllegalArgumentException("games: " + gameCount);
+        // one int per seat of every game must fit in a Java array
+        long seats = (long) gameCount * playerCount;
+        if (seats > Integer.MAX_VALUE - 64) {
+            throw new IllegalArgumentException(gameCount + " games x " + playerCount + " players exceeds one array; split the batch");
+        }
+        this.nodeCount = board.getNodeCount();
+        this.playerCount = playerCount;
+        this.gameCount = gameCount;
+        this.next = board.moveTable();
+        this.star = new byte[nodeCount + 1];
+        for (int i = 1; i <= nodeCount; i++) star[i] = (byte) (board.isStar(i) ? 1 : 0);
+        this.maxTurns = (int) Math.min(Integer.MAX_VALUE, Math.max(10_000L, nodeCount * 100L));
+
+        this.gameId = new int[gameCount];
+        this.rngState = new long[gameCount];
+        this.seat = new byte[gameCount];
+        this.move = new byte[gameCount];
+        this.positions = new int[(int) seats];
+        this.extraTurns = new byte[(int) seats];
+        this.winner = new byte[gameCount];
+        this.turns = new int[gameCount];
+        int blocks = (gameCount + BLOCK - 1) / BLOCK;
+        this.blockRunning = new int[blocks];
+        this.blockTurn = new int[blocks];
+    }
+
+    // Puts every game back at the start; game g draws from its own stream, so its result does not
+    // depend on the batch size or on which other games are running.
+    public void reset(long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int g = 0; g < gameCount; g++) {
+            gameId[g] = g;
+            rngState[g] = seeds.nextLong();
+        }
+        Arrays.fill(seat, (byte) 0);
+        Arrays.fill(positions, 1);
+        Arrays.fill(extraTurns, (byte) 0);
+        Arrays.fill(winner, (byte) -1);
+        Arrays.fill(turns, 0);
+        for (int b = 0; b < blockRunning.length; b++) blockRunning[b] = Math.min(BLOCK, gameCount - b * BLOCK);
+        Arrays.fill(blockTurn, 0);
+    }
+
+    // One turn for every running game, rolls drawn from the games' own streams.
+    // Returns the number of games still running.
+    public int step() {
+        int left = 0;
+        for (int b = 0; b < blockRunning.length; b++) {
+            if (blockRunning[b] > 0) {
+                drawMoves(b);
+                applyMoves(b);
+            }
+            left += blockRunning[b];
+        }
+        return left;
+    }
+
+    // One turn for every running game with given rolls, indexed by game id and encoded as in
+    // GameReplay (dice in bits 0-2, bit 3 set for green).
+    public int step(byte[] rollByGame) {
+        int left = 0;
+        for (int b = 0; b < blockRunning.length; b++) {
+            int start = b * BLOCK, end = start + blockRunning[b];
+            for (int i = start; i < end; i++) {
+                int roll = rollByGame[gameId[i]];
+                move[i] = (byte) ((roll & 0x07) - 1 + ((roll & 0x08) != 0 ? 0 : 6));
+            }
+            if (end > start) applyMoves(b);
+            left += blockRunning[b];
+        }
+        return left;
+    }
+
+    // Plays every game to the end, one cache-sized block at a time; returns the longest game's turns.
+    public int runToCompletion() {
+        int longest = 0;
+        for (int b = 0; b < blockRunning.length; b++) {
+            while (blockRunning[b] > 0) {
+                drawMoves(b);
+                applyMoves(b);
+            }
+            longest = Math.max(longest, blockTurn[b]);
+        }
+        return longest;
+    }
+
+    private void drawMoves(int b) {
+        int start = b * BLOCK, end = start + blockRunning[b];
+        for (int i = start; i < end; i++) {
+            long z = rngState[i] + GOLDEN;
+            rngState[i] = z;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            z ^= z >>> 31;
+            // same mapping as GameSimulator: high half picks the dice, low half the direction
+            int k = (int) (((z >>> 32) * 6) >>> 32);
+            move[i] = (byte) (k + ((z & 0xFFFFFFFFL) >= GameSimulator.GREEN_THRESHOLD ? 6 : 0));
+        }
+    }
+
+    private void applyMoves(int b) {
+        int start = b * BLOCK, end = start + blockRunning[b];
+        int players = playerCount;
+        int finished = 0;
+        int turn = ++blockTurn[b];
+
+        for (int i = start; i < end; i++) {
+            int s = seat[i];
+            int idx = i * players + s;
+            int k = move[i];
+            int pos = next[positions[idx] * 12 + k];
+            positions[idx] = pos;
+
+            // landing on a star grants 2 extra turns; a turn with extras left keeps the seat
+            int e = star[pos] != 0 ? 2 : extraTurns[idx];
+            int stay = (e + 0x7fffffff) >>> 31; // 1 when e > 0
+            extraTurns[idx] = (byte) (e - stay);
+            int following = s + 1 == players ? 0 : s + 1;
+            seat[i] = (byte) (stay != 0 ? s : following);
+
+            // the finishing seat is kept in move[] for the compaction pass
+            int done = (nodeCount - 1 - pos) >>> 31; // 1 when pos >= nodeCount
+            finished += done;
+            move[i] = (byte) (done != 0 ? -1 - s : 0);
+        }
+
+        if (finished > 0) {
+            compact(b, turn);
+            if (Metrics.ENABLED) Metrics.GAMES.add(finished);
+        }
+        if (turn >= maxTurns) {
+            for (int i = start; i < start + blockRunning[b]; i++) turns[gameId[i]] = turn;
+            blockRunning[b] = 0;
+        }
+    }
+
+    // Records finished games and fills their slots from the end of the running range.
+    private void compact(int b, int turn) {
+        int start = b * BLOCK;
+        for (int i = start + blockRunning[b] - 1; i >= start; i--) {
+            if (move[i] >= 0) continue;
+            int g = gameId[i];
+            winner[g] = (byte) (-1 - move[i]);
+            turns[g] = turn;
+
+            int last = start + --blockRunning[b];
+            if (i != last) moveSlot(last, i);
+        }
+    }
+
+    private void moveSlot(int from, int to) {
+        gameId[to] = gameId[from];
+        rngState[to] = rngState[from];
+        seat[to] = seat[from];
+        move[to] = move[from];
+        System.arraycopy(positions, from * playerCount, positions, to * playerCount, playerCount);
+        System.arraycopy(extraTurns, from * playerCount, extraTurns, to * playerCount, playerCount);
+    }
+
+    public long[] winCounts() {
+        long[] wins = new long[playerCount];
+        for (int g = 0; g < gameCount; g++) if (winner[g] >= 0) wins[winner[g]]++;
+        return wins;
+    }
+
+    // Winning seat of game g, or -1 while it is running or if it hit the turn cap.
+    public int getWinner(int g) {
+        return winner[g];
+    }
+
+    // Turns game g took to finish (or to hit the cap); 0 while it is running.
+    public int getTurns(int g) {
+        return turns[g];
+    }
+
+    public int getRunning() {
+        int left = 0;
+        for (int r : blockRunning) left += r;
+        return left;
+    }
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) names.add("Player " + i);
+        BatchSimulator sim = new BatchSimulator(new GameLogic(100, names).getLayout(), playerCount, games);
+
+        for (int r = 0; r < rounds; r++) {
+            sim.reset(42L + r);
+            long start = System.nanoTime();
+            int longest = sim.runToCompletion();
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games in %.3f s (%.2fM games/s, longest %d turns), wins %s%n",
+                    games, secs, games / secs / 1e6, longest, Arrays.toString(sim.winCounts()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// Serpentine grid for any tile count: row 0 is the bottom row, running left to right,
+// the next row runs right to left, and so on. The top row may be partly filled.
+public final class BoardGeometry {
+
+    private final int nodeCount;
+    private final int columns;
+    private final int rows;
+
+    public BoardGeometry(int nodeCount) {
+        this(nodeCount, (int) Math.ceil(Math.sqrt(nodeCount)));
+    }
+
+    public BoardGeometry(int nodeCount, int columns) {
+        this.nodeCount = nodeCount;
+        this.columns = Math.max(1, columns);
+        this.rows = (nodeCount + this.columns - 1) / this.columns;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int rowOf(int tile) {
+        return (tile - 1) / columns;
+    }
+
+    public int columnOf(int tile) {
+        int row = (tile - 1) / columns;
+        int colInRow = (tile - 1) % columns;
+        return (row % 2 == 0) ? colInRow : (columns - 1) - colInRow;
+    }
+
+    // Tile shown at the given row and column, or 0 for an empty cell in the top row.
+    public int tileAt(int row, int col) {
+        int tile = (row % 2 == 0)
+                ? row * columns + (col + 1)
+                : row * columns + (columns - col);
+        return tile <= nodeCount ? tile : 0;
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Immutable board: ladder targets and tile flags in primitive arrays. A new layout (with a higher
+// version) is built whenever the ladders change, so readers holding one never see a half-updated board.
+public final class BoardLayout {
+
+    private final int nodeCount;
+    private final long version;
+    private final int[] jumpTarget;
+    private final int[] ladderSources;
+    private final int maxLadderRise;
+    private final TileSet starTiles;
+    private final TileSet primeTiles;
+    private final Map<Integer, Integer> ladders;
+    private final Map<TileProperty, TileSet> properties = new ConcurrentHashMap<>();
+
+    public BoardLayout(int nodeCount, Map<Integer, Integer> ladders, Collection<Integer> starTiles) {
+        this(nodeCount, 0, TileSet.of(nodeCount, starTiles), TileSet.primes(nodeCount), ladders);
+    }
+
+    private BoardLayout(int nodeCount, long version, TileSet starTiles, TileSet primeTiles, Map<Integer, Integer> ladders) {
+        this.nodeCount = nodeCount;
+        this.version = version;
+        this.starTiles = starTiles;
+        this.primeTiles = primeTiles;
+
+        this.jumpTarget = new int[nodeCount + 1];
+        for (int i = 0; i <= nodeCount; i++) jumpTarget[i] = i;
+        this.ladderSources = new int[ladders.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) {
+            jumpTarget[e.getKey()] = e.getValue();
+            ladderSources[n++] = e.getKey();
+        }
+        Arrays.sort(ladderSources);
+        int rise = 0;
+        for (int from : ladderSources) rise = Math.max(rise, jumpTarget[from] - from);
+        this.maxLadderRise = rise;
+        this.ladders = Collections.unmodifiableMap(new LinkedHashMap<>(ladders));
+    }
+
+    // Same tiles and flags, new ladders, next version.
+    public BoardLayout withLadders(Map<Integer, Integer> ladders) {
+        return new BoardLayout(nodeCount, version + 1, starTiles, primeTiles, ladders);
+    }
+
+    // Tiles matching a registered rule, computed on first use and kept for the lifetime of this layout.
+    public TileSet tiles(TileProperty property) {
+        if (property == TileProperty.STAR) return starTiles;
+        if (property == TileProperty.PRIME) return primeTiles;
+        if (!TileProperty.isRegistered(property)) {
+            throw new IllegalArgumentException("tile property not registered; create it once with TileProperty.register");
+        }
+        return properties.computeIfAbsent(property, p -> p.compute(this));
+    }
+
+    public boolean has(TileProperty property, int tile) {
+        return tiles(property).contains(tile);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Ladder target of tile, or the tile itself when it has no ladder.
+    public int jumpTarget(int tile) {
+        return jumpTarget[tile];
+    }
+
+    public boolean hasLadder(int tile) {
+        return jumpTarget[tile] != tile;
+    }
+
+    public boolean isStar(int tile) {
+        return starTiles.contains(tile);
+    }
+
+    public boolean isPrime(int tile) {
+        return primeTiles.contains(tile);
+    }
+
+    public TileSet getStarTiles() {
+        return starTiles;
+    }
+
+    public TileSet getPrimeTiles() {
+        return primeTiles;
+    }
+
+    public boolean isFinish(int tile) {
+        return tile >= nodeCount;
+    }
+
+    public int[] getLadderSources() {
+        return ladderSources.clone();
+    }
+
+    public int getLadderCount() {
+        return ladderSources.length;
+    }
+
+    public int getLadderSource(int i) {
+        return ladderSources[i];
+    }
+
+    // Index of the first ladder (in source order) starting at or after tile.
+    public int firstLadderFrom(int tile) {
+        int i = Arrays.binarySearch(ladderSources, tile);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    public int getMaxLadderRise() {
+        return maxLadderRise;
+    }
+
+    public Map<Integer, Integer> getLadders() {
+        return ladders;
+    }
+
+    // next[pos * 12 + k]: k 0..5 = green dice 1..6 (clamped, ladder applied), k 6..11 = red dice 1..6
+    public int[] moveTable() {
+        int[] next = new int[(nodeCount + 1) * 12];
+        for (int pos = 1; pos <= nodeCount; pos++) {
+            for (int d = 1; d <= 6; d++) {
+                next[pos * 12 + d - 1] = jumpTarget[Math.min(pos + d, nodeCount)];
+                next[pos * 12 + d + 5] = Math.max(pos - d, 1);
+            }
+        }
+        return next;
+    }
+}
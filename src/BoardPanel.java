@@ -1,74 +1,255 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 
+// Draws a GameSnapshot and animates the moves it reports; it never reads the live game, so what is
+// on screen is always one consistent state. EDT only.
 public class BoardPanel extends JPanel {
-    private final GameLogic gameLogic;
     private final GameFrame gameFrame;
 
-    private javax.swing.Timer animationTimer;
-    private Stack<Integer> animationPath;
-    private final int ANIMATION_DELAY = 220;
+    private final AnimationScheduler animations;
+    private static final int STEP_MILLIS = 220;
 
-    private Image boardBg, tileImg, tileFinishImg, tileStarImg;
+    private GameSnapshot snapshot;
+    // tile each token is drawn on: the snapshot's, except for a mover still walking its path
+    private int[] shownPositions;
+    // token being walked: drawn at (animatedX, animatedY) instead of its tile centre
+    private int animatedPlayer = -1;
+    private double animatedX, animatedY;
+    // move being walked, and the moves handed in meanwhile; they are walked in order
+    private MoveTrack activeMove;
+    private final ArrayDeque<Runnable> queuedMoves = new ArrayDeque<>();
+    // union of everything that changed since the last frame, repainted once per frame
+    private final Rectangle frameDirty = new Rectangle();
 
-    public BoardPanel(GameLogic gameLogic, GameFrame gameFrame) {
-        this.gameLogic = gameLogic;
+    private static final Font TILE_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Stroke LADDER_STROKE = new BasicStroke(6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final Stroke RUNG_STROKE = new BasicStroke(4f);
+    private static final Stroke TOKEN_STROKE = new BasicStroke(2f);
+    private static final Color LADDER_SHADOW = new Color(0, 0, 0, 70);
+    private static final Color LADDER_WOOD = new Color(156, 93, 59);
+    private static final Color BOARD_FALLBACK = new Color(210, 230, 255);
+
+    // boards wider than this many columns get fixed-size cells inside a scroll pane
+    private static final int FIT_MAX_COLUMNS = 20;
+    private static final int MIN_CELL = 8;
+    private static final int MAX_CELL = 96;
+    private static final int MIN_LABELLED_CELL = 20;
+
+    private static final String BOARD_BG = "/board/board_bg.png";
+    private static final String TILE = "/board/tile.png";
+    private static final String TILE_FINISH = "/board/tile_finish.png";
+    private static final String TILE_STAR = "/board/tile_star.png";
+
+    private final AssetCache assets = AssetCache.get();
+    private final BoardGeometry geometry;
+    private final boolean scrolling;
+    private int zoomCellSize = 48;
+
+    // background, tiles, numbers and ladders, rebuilt only on resize or a new board layout
+    private Image boardLayer;
+    private long boardLayerVersion = -1;
+
+    // tiles and tokens at the current cell size, rebuilt on resize, zoom or a move to another screen
+    private SpriteAtlas sprites;
+    private int spriteCell;
+    private GraphicsConfiguration spriteConfig;
+    private int tileSprite, finishSprite, starSprite;
+    private final int[] tokenSprites;
+
+    public BoardPanel(GameSnapshot snapshot, GameFrame gameFrame) {
+        this(snapshot, gameFrame, new AnimationScheduler());
+    }
+
+    public BoardPanel(GameSnapshot snapshot, GameFrame gameFrame, AnimationScheduler animations) {
+        this.snapshot = snapshot;
+        this.shownPositions = snapshot.positions();
+        this.tokenSprites = new int[snapshot.getPlayerCount()];
         this.gameFrame = gameFrame;
-        setPreferredSize(new Dimension(700, 700));
+        this.animations = animations;
+        animations.addFrameListener(this::flushFrame);
+        this.geometry = new BoardGeometry(snapshot.getNodeCount());
+        this.scrolling = geometry.getColumns() > FIT_MAX_COLUMNS;
         setOpaque(false);
-        loadImages();
+        List<String> paths = new ArrayList<>(Arrays.asList(BOARD_BG, TILE, TILE_FINISH, TILE_STAR));
+        for (int i = 0; i < tokenSprites.length; i++) paths.add(avatarPath(i));
+        assets.preload(paths.toArray(new String[0]));
+
+        if (scrolling) {
+            updateZoomedSize();
+            addMouseWheelListener(this::onMouseWheel);
+        } else {
+            setPreferredSize(new Dimension(700, 700));
+        }
+    }
+
+    // Large boards must be placed in a JScrollPane; only the visible tiles are painted.
+    public boolean isScrolling() {
+        return scrolling;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
     }
 
-    private void loadImages() {
-        boardBg = loadScaled("/board/board_bg.png", 700, 700);
-        tileImg = loadRaw("/board/tile.png");
-        tileFinishImg = loadRaw("/board/tile_finish.png");
-        tileStarImg = loadRaw("/board/tile_star.png");
+    private int cellSize() {
+        if (scrolling) return zoomCellSize;
+        return Math.max(1, Math.min(getWidth() / geometry.getColumns(), getHeight() / geometry.getRows()));
+    }
+
+    private void updateZoomedSize() {
+        setPreferredSize(new Dimension(geometry.getColumns() * zoomCellSize, geometry.getRows() * zoomCellSize));
+        revalidate();
+    }
+
+    // Ctrl + wheel zooms around the mouse; a plain wheel scrolls the enclosing scroll pane.
+    private void onMouseWheel(MouseWheelEvent e) {
+        JScrollPane pane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+        if ((e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) == 0) {
+            if (pane != null) pane.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, pane));
+            return;
+        }
+
+        int old = zoomCellSize;
+        int next = Math.max(MIN_CELL, Math.min(MAX_CELL, old - e.getWheelRotation() * Math.max(1, old / 8)));
+        if (next == old) return;
+        zoomCellSize = next;
+        updateZoomedSize();
+
+        if (pane != null) {
+            JViewport viewport = pane.getViewport();
+            Point view = viewport.getViewPosition();
+            int mx = e.getX() - view.x;
+            int my = e.getY() - view.y;
+            int x = (int) ((long) e.getX() * next / old) - mx;
+            int y = (int) ((long) e.getY() * next / old) - my;
+            SwingUtilities.invokeLater(() -> viewport.setViewPosition(new Point(Math.max(0, x), Math.max(0, y))));
+        }
+        repaint();
     }
 
-    private Image loadRaw(String path) {
-        java.net.URL url = getClass().getResource(path);
-        return (url != null) ? new ImageIcon(url).getImage() : null;
+    // Scrolls the token standing on tile into view (large boards only).
+    public void followTile(int tile) {
+        if (scrolling) scrollRectToVisible(tokenBounds(tile, cellSize()));
     }
 
-    private Image loadScaled(String path, int w, int h) {
-        java.net.URL url = getClass().getResource(path);
-        return (url != null)
-                ? new ImageIcon(new ImageIcon(url).getImage()
-                .getScaledInstance(w, h, Image.SCALE_SMOOTH)).getImage()
-                : null;
+    public void followCurrentPlayer() {
+        followTile(shownPositions[snapshot.currentPlayer]);
+    }
+
+    static String avatarPath(int playerIndex) {
+        return "/player/p" + (playerIndex + 1) + ".png";
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = Metrics.ENABLED ? System.nanoTime() : 0;
         super.paintComponent(g);
-        int size = 10;
-        int cellSize = Math.min(getWidth(), getHeight()) / size;
+        int cellSize = cellSize();
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        if (scrolling) {
+            Rectangle clip = g.getClipBounds();
+            paintBoard(g2, snapshot.layout, cellSize, clip != null ? clip : new Rectangle(getSize()), false);
+        } else {
+            g2.drawImage(getBoardLayer(), 0, 0, null);
+        }
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // players
+        drawAllPlayers(g2, cellSize);
+        g2.dispose();
+        if (Metrics.ENABLED) Metrics.PAINT_NANOS.record(System.nanoTime() - paintStart);
+    }
+
+    public void invalidateBoard() {
+        boardLayer = null;
+        repaint();
+    }
+
+    private SpriteAtlas sprites(int cellSize) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (sprites != null && spriteCell == cellSize && spriteConfig == gc) return sprites;
+
+        int tokenSize = tokenSize(cellSize);
+        SpriteAtlas.Builder atlas = new SpriteAtlas.Builder();
+        tileSprite = atlas.add(assets.scaled(TILE, cellSize, cellSize));
+        finishSprite = atlas.add(assets.scaled(TILE_FINISH, cellSize, cellSize));
+        starSprite = atlas.add(assets.scaled(TILE_STAR, cellSize, cellSize));
+        for (int i = 0; i < tokenSprites.length; i++) {
+            tokenSprites[i] = atlas.add(assets.circular(avatarPath(i), tokenSize, 2f));
+        }
+        sprites = atlas.build(gc);
+        spriteCell = cellSize;
+        spriteConfig = gc;
+        return sprites;
+    }
+
+    private Image getBoardLayer() {
+        BoardLayout layout = snapshot.layout;
+        int w = Math.max(1, getWidth());
+        int h = Math.max(1, getHeight());
+        if (boardLayer != null && boardLayer.getWidth(null) == w && boardLayer.getHeight(null) == h
+                && boardLayerVersion == layout.getVersion()) {
+            return boardLayer;
+        }
+
+        // a compatible image is kept in video memory by Java2D when acceleration is available
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        boardLayer = (gc != null)
+                ? gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        boardLayerVersion = layout.getVersion();
+
+        Graphics2D g2 = (Graphics2D) boardLayer.getGraphics();
+        paintBoard(g2, layout, cellSize(), new Rectangle(0, 0, w, h), true);
+        g2.dispose();
+        return boardLayer;
+    }
+
+    // Paints the tiles and ladders that fall inside area.
+    private void paintBoard(Graphics2D g2, BoardLayout layout, int cellSize, Rectangle area, boolean backgroundImage) {
+        int rows = geometry.getRows();
+        int cols = geometry.getColumns();
 
         // background
-        if (boardBg != null) g.drawImage(boardBg, 0, 0, getWidth(), getHeight(), null);
+        Image boardBg = backgroundImage ? assets.scaled(BOARD_BG, area.width, area.height) : null;
+        if (boardBg != null) g2.drawImage(boardBg, area.x, area.y, null);
         else {
-            g.setColor(new Color(210, 230, 255));
-            g.fillRect(0, 0, getWidth(), getHeight());
+            g2.setColor(BOARD_FALLBACK);
+            g2.fillRect(area.x, area.y, area.width, area.height);
         }
 
-        Graphics2D g2 = (Graphics2D) g.create();
+        // visible rows and columns; screen row 0 is the top board row
+        int topRow = rows - 1 - Math.max(0, area.y / cellSize);
+        int bottomRow = Math.max(0, rows - 1 - (area.y + area.height - 1) / cellSize);
+        int leftCol = Math.max(0, area.x / cellSize);
+        int rightCol = Math.min(cols - 1, (area.x + area.width - 1) / cellSize);
+        if (topRow < bottomRow || leftCol > rightCol) return;
+
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(TILE_FONT);
+        SpriteAtlas atlas = sprites(cellSize);
+
+        boolean labels = cellSize >= MIN_LABELLED_CELL;
 
         // tiles
-        for (int row = 0; row < size; row++) {
-            for (int col = 0; col < size; col++) {
-                int num = getNumberAt(row, col);
+        for (int row = bottomRow; row <= topRow; row++) {
+            for (int col = leftCol; col <= rightCol; col++) {
+                int num = geometry.tileAt(row, col);
+                if (num == 0) continue;
                 int x = col * cellSize;
-                int y = (size - 1 - row) * cellSize;
+                int y = (rows - 1 - row) * cellSize;
 
-                Image useTile = tileImg;
-                if (num == 100 && tileFinishImg != null) useTile = tileFinishImg;
-                else if (gameLogic.isStarTile(num) && tileStarImg != null) useTile = tileStarImg;
+                int useTile = tileSprite;
+                if (layout.isFinish(num) && finishSprite >= 0) useTile = finishSprite;
+                else if (layout.isStar(num) && starSprite >= 0) useTile = starSprite;
 
-                if (useTile != null) g2.drawImage(useTile, x, y, cellSize, cellSize, null);
+                if (useTile >= 0) atlas.draw(g2, useTile, x, y);
                 else {
                     g2.setColor(Color.LIGHT_GRAY);
                     g2.fillRect(x, y, cellSize, cellSize);
@@ -76,30 +257,36 @@ public class BoardPanel extends JPanel {
                     g2.drawRect(x, y, cellSize, cellSize);
                 }
 
-                g2.setColor(Color.BLACK);
-                g2.setFont(new Font("Arial", Font.PLAIN, 12));
-                g2.drawString(String.valueOf(num), x + 5, y + 15);
+                if (labels) {
+                    g2.setColor(Color.BLACK);
+                    g2.drawString(String.valueOf(num), x + 5, y + 15);
+                }
             }
         }
 
-        // ladders
-        drawLadders(g2, cellSize);
-
-        // players
-        drawAllPlayers(g2, cellSize);
-        g2.dispose();
+        // ladders touching the visible rows; a row of margin covers the rails' width
+        int firstTile = Math.max(1, (bottomRow - 1) * cols + 1);
+        int lastTile = Math.min(layout.getNodeCount(), (topRow + 2) * cols);
+        drawLadders(g2, layout, cellSize, area, firstTile, lastTile);
     }
 
-    private void drawLadders(Graphics2D g2, int cellSize) {
-        Map<Integer, Integer> ladders = gameLogic.getLadders();
-        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) {
-            Point start = getCellCenter(e.getKey(), cellSize);
-            Point end = getCellCenter(e.getValue(), cellSize);
-            drawSingleLadder(g2, start, end);
+    private void drawLadders(Graphics2D g2, BoardLayout layout, int cellSize, Rectangle area, int firstTile, int lastTile) {
+        int halfWidth = Math.min(10, cellSize / 7);
+        Rectangle reach = new Rectangle(area);
+        reach.grow(halfWidth + 4, halfWidth + 4);
+        for (int i = layout.firstLadderFrom(firstTile - layout.getMaxLadderRise()); i < layout.getLadderCount(); i++) {
+            int from = layout.getLadderSource(i);
+            if (from > lastTile) break;
+            int to = layout.jumpTarget(from);
+            if (to < firstTile) continue;
+            Point start = getCellCenter(from, cellSize);
+            Point end = getCellCenter(to, cellSize);
+            if (!reach.intersectsLine(start.x, start.y, end.x, end.y)) continue;
+            drawSingleLadder(g2, start, end, halfWidth);
         }
     }
 
-    private void drawSingleLadder(Graphics2D g2, Point start, Point end) {
+    private void drawSingleLadder(Graphics2D g2, Point start, Point end, int halfWidth) {
         double dx = end.x - start.x;
         double dy = end.y - start.y;
         double length = Math.sqrt(dx * dx + dy * dy);
@@ -108,23 +295,22 @@ public class BoardPanel extends JPanel {
         double px = -uy;
         double py = ux;
 
-        int halfWidth = 10;
         int rungCount = (int) (length / 22);
 
-        g2.setStroke(new BasicStroke(6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        g2.setColor(new Color(0, 0, 0, 70));
+        g2.setStroke(LADDER_STROKE);
+        g2.setColor(LADDER_SHADOW);
         g2.drawLine((int) (start.x + px * halfWidth + 2), (int) (start.y + py * halfWidth + 2),
                 (int) (end.x + px * halfWidth + 2), (int) (end.y + py * halfWidth + 2));
         g2.drawLine((int) (start.x - px * halfWidth + 2), (int) (start.y - py * halfWidth + 2),
                 (int) (end.x - px * halfWidth + 2), (int) (end.y - py * halfWidth + 2));
 
-        g2.setColor(new Color(156, 93, 59));
+        g2.setColor(LADDER_WOOD);
         g2.drawLine((int) (start.x + px * halfWidth), (int) (start.y + py * halfWidth),
                 (int) (end.x + px * halfWidth), (int) (end.y + py * halfWidth));
         g2.drawLine((int) (start.x - px * halfWidth), (int) (start.y - py * halfWidth),
                 (int) (end.x - px * halfWidth), (int) (end.y - py * halfWidth));
 
-        g2.setStroke(new BasicStroke(4f));
+        g2.setStroke(RUNG_STROKE);
         for (int i = 1; i < rungCount; i++) {
             double t = (double) i / rungCount;
             int cx = (int) (start.x + dx * t);
@@ -135,67 +321,164 @@ public class BoardPanel extends JPanel {
     }
 
     private void drawAllPlayers(Graphics2D g, int cellSize) {
-        List<GameLogic.Player> players = gameLogic.getPlayers();
-        for (int i = 0; i < players.size(); i++) {
-            GameLogic.Player p = players.get(i);
-            Point pos = getCellCenter(p.position, cellSize);
+        SpriteAtlas atlas = sprites(cellSize);
+        Rectangle dirty = g.getClipBounds();
+        for (int i = 0; i < shownPositions.length; i++) {
+            Point pos = i == animatedPlayer ? animatedCenter() : getCellCenter(shownPositions[i], cellSize);
+            if (dirty != null && !dirty.intersects(tokenBounds(pos, cellSize))) continue;
+
+            int tokenSize = tokenSize(cellSize);
+            if (tokenSprites[i] >= 0) {
+                atlas.draw(g, tokenSprites[i], pos.x - tokenSize / 2, pos.y - tokenSize / 2);
+                continue;
+            }
 
-            Image avatar = loadRaw("/player/p" + (i + 1) + ".png");
-            int tokenSize = Math.max(28, cellSize / 3);
             Shape circle = new java.awt.geom.Ellipse2D.Float(
                     pos.x - tokenSize / 2f,
                     pos.y - tokenSize / 2f,
                     tokenSize,
                     tokenSize
             );
-
-            g.setClip(circle);
-            if (avatar != null) g.drawImage(avatar, pos.x - tokenSize / 2, pos.y - tokenSize / 2, tokenSize, tokenSize, null);
-            else {
-                g.setColor(Color.GRAY);
-                g.fill(circle);
-            }
-            g.setClip(null);
+            g.setColor(Color.GRAY);
+            g.fill(circle);
             g.setColor(Color.BLACK);
-            g.setStroke(new BasicStroke(2f));
+            g.setStroke(TOKEN_STROKE);
             g.draw(circle);
         }
     }
 
     private Point getCellCenter(int number, int cellSize) {
-        int size = 10;
-        int row = (number - 1) / size;
-        int colInRow = (number - 1) % size;
-        int col = (row % 2 == 0) ? colInRow : (size - 1) - colInRow;
-        int x = col * cellSize + cellSize / 2;
-        int y = (size - 1 - row) * cellSize + cellSize / 2;
+        int x = geometry.columnOf(number) * cellSize + cellSize / 2;
+        int y = (geometry.getRows() - 1 - geometry.rowOf(number)) * cellSize + cellSize / 2;
         return new Point(x, y);
     }
 
-    private int getNumberAt(int row, int col) {
-        int size = 10;
-        return (row % 2 == 0)
-                ? row * size + (col + 1)
-                : row * size + (size - col);
+    private int tokenSize(int cellSize) {
+        return Math.min(Math.max(28, cellSize / 3), Math.max(cellSize, 12));
+    }
+
+    // Screen area touched by a token standing on the given tile.
+    private Rectangle tokenBounds(int number, int cellSize) {
+        return tokenBounds(getCellCenter(number, cellSize), cellSize);
+    }
+
+    private Rectangle tokenBounds(Point c, int cellSize) {
+        int half = Math.max(cellSize, tokenSize(cellSize)) / 2 + 2;
+        return new Rectangle(c.x - half, c.y - half, half * 2, half * 2);
+    }
+
+    public GameSnapshot getSnapshot() {
+        return snapshot;
     }
 
-    public void animateMove(Stack<Integer> path, Runnable onComplete) {
-        if (animationTimer != null && animationTimer.isRunning()) return;
+    // Shows s from the next frame on; only tokens that moved are repainted, the whole board only
+    // when the ladders changed. The mover of a reported roll stays on its start tile until
+    // animateMove walks it.
+    public void showSnapshot(GameSnapshot s) {
+        int cellSize = cellSize();
+        int[] next = s.positions();
+        if (s.hasMove()) next[s.mover] = s.moveTile(0);
+        for (int i = 0; i < next.length; i++) {
+            if (next[i] == shownPositions[i] || i == animatedPlayer) continue;
+            markDirty(tokenBounds(shownPositions[i], cellSize));
+            markDirty(tokenBounds(next[i], cellSize));
+        }
+        if (s.layout != snapshot.layout) repaint();
+        snapshot = s;
+        shownPositions = next;
+        if (animations.isIdle()) flushFrame();
+    }
+
+    public void animateMove(GameSnapshot s, Runnable onComplete) {
+        animateMove(s, null, onComplete);
+    }
 
-        animationPath = new Stack<>();
-        List<Integer> temp = new ArrayList<>(path);
-        for (int i = temp.size() - 1; i > 0; i--) animationPath.push(temp.get(i));
+    // Walks the mover of s along its path, gliding between tile centres on the shared frame clock.
+    // onStep runs on the frame in which the token enters the next tile (once per frame when several
+    // are crossed). A move handed in while another is walking starts when that one completes.
+    public void animateMove(GameSnapshot s, Runnable onStep, Runnable onComplete) {
+        if (activeMove != null) {
+            queuedMoves.add(() -> animateMove(s, onStep, onComplete));
+            return;
+        }
+        if (s.moveLength() < 2) {
+            if (s.hasMove()) shownPositions[s.mover] = s.position(s.mover);
+            if (onComplete != null) onComplete.run();
+            Runnable next = queuedMoves.poll();
+            if (next != null) next.run();
+            return;
+        }
+        activeMove = new MoveTrack(s, onStep, onComplete);
+        animations.play(activeMove);
+    }
+
+    private Point animatedCenter() {
+        return new Point((int) Math.round(animatedX), (int) Math.round(animatedY));
+    }
+
+    private void markDirty(Rectangle r) {
+        if (frameDirty.isEmpty()) frameDirty.setBounds(r);
+        else frameDirty.add(r);
+    }
 
-        GameLogic.Player currentPlayer = gameLogic.getCurrentPlayer();
-        animationTimer = new javax.swing.Timer(ANIMATION_DELAY, e -> {
-            if (!animationPath.isEmpty()) {
-                currentPlayer.position = animationPath.pop();
-                repaint();
-            } else {
-                ((javax.swing.Timer) e.getSource()).stop();
+    private void flushFrame() {
+        if (frameDirty.isEmpty()) return;
+        repaint(frameDirty);
+        frameDirty.setBounds(0, 0, 0, 0);
+    }
+
+    private final class MoveTrack implements AnimationScheduler.Track {
+        private final GameSnapshot path;
+        private final Runnable onStep;
+        private final Runnable onComplete;
+        private final int player;
+        private final int last;
+        private int tileIndex = -1;
+
+        MoveTrack(GameSnapshot path, Runnable onStep, Runnable onComplete) {
+            this.path = path;
+            this.onStep = onStep;
+            this.onComplete = onComplete;
+            this.player = path.mover;
+            this.last = path.moveLength() - 1;
+        }
+
+        @Override
+        public boolean advance(double time) {
+            int cellSize = cellSize();
+            markDirty(tileIndex < 0 ? tokenBounds(shownPositions[player], cellSize) : tokenBounds(animatedCenter(), cellSize));
+
+            double steps = Math.min(time / STEP_MILLIS, last);
+            int reached = (int) steps;
+            if (reached != tileIndex) {
+                boolean entered = tileIndex >= 0;
+                tileIndex = reached;
+                shownPositions[player] = path.moveTile(reached);
+                if (entered && onStep != null) onStep.run();
+            }
+
+            if (reached >= last) {
+                animatedPlayer = -1;
+                activeMove = null;
+                markDirty(tokenBounds(shownPositions[player], cellSize));
+                followTile(shownPositions[player]);
                 if (onComplete != null) onComplete.run();
+                Runnable next = queuedMoves.poll();
+                if (next != null) next.run();
+                return false;
             }
-        });
-        animationTimer.start();
+
+            // ladder legs glide the same way, just over a longer distance
+            Point from = getCellCenter(path.moveTile(reached), cellSize);
+            Point to = getCellCenter(path.moveTile(reached + 1), cellSize);
+            double f = steps - reached;
+            animatedX = from.x + (to.x - from.x) * f;
+            animatedY = from.y + (to.y - from.y) * f;
+            animatedPlayer = player;
+            Rectangle now = tokenBounds(animatedCenter(), cellSize);
+            markDirty(now);
+            if (scrolling) scrollRectToVisible(now);
+            return true;
+        }
     }
 }
@@ -0,0 +1,212 @@
+import java.io.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+// Owns a GameLogic on its own thread. Callers (the EDT) post commands and never touch the game;
+// after a command the engine copies the state into an immutable GameSnapshot, stores it in a
+// single volatile field and calls the listener, still on the engine thread. So a slow turn or a
+// resetGame() on a huge board costs the engine thread time, never frame time.
+//
+// Auto-play runs turns back to back as fast as the CPU allows. A snapshot is then taken only when
+// asked for (requestSnapshot, e.g. once per frame), so unwatched turns cost nothing beyond the
+// move. Wins are recorded on the game's leaderboard and the next game starts with resetGame().
+public final class GameEngine implements Closeable {
+
+    private final GameLogic game;
+    private final LinkedBlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    // reused every roll; the snapshot keeps a copy
+    private final MovePath movePath = new MovePath();
+
+    private volatile GameSnapshot latest;
+    private volatile Runnable listener;
+    private volatile boolean autoPlay;
+    private volatile boolean snapshotWanted;
+    private volatile boolean closed;
+
+    // engine thread only
+    private long version;
+    private int winner = -1;
+    // version of the roll snapshot still waiting for its endTurn, -1 if none
+    private long rollVersion = -1;
+    private long games, turns;
+
+    public GameEngine(GameLogic game) {
+        this.game = game;
+        for (GameLogic.Player p : game.getPlayers()) {
+            if (p.position >= game.getNodeCount()) winner = game.getPlayers().indexOf(p);
+        }
+        latest = new GameSnapshot(version, game, null, winner, games, turns);
+        thread = new Thread(this::loop, "game-engine");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public GameSnapshot snapshot() {
+        return latest;
+    }
+
+    // Runs on the engine thread after every published snapshot; must not block.
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    // Rolls for the current player and moves them. The snapshot reports the roll and its path,
+    // with the turn not yet passed on; endTurn() does that once the move has been shown. Ignored
+    // while an earlier roll still waits for its endTurn.
+    public void roll() {
+        post(() -> {
+            if (winner >= 0 || rollVersion >= 0) return;
+            int dice = game.rollDice();
+            game.moveCurrentPlayer(dice, movePath);
+            turns++;
+            publish(movePath);
+            rollVersion = version;
+        });
+    }
+
+    // Records a win (and saves the replay) or passes the turn on. rollVersion is the version of the
+    // roll's snapshot; an endTurn for a roll that newGame() or auto-play has since dropped is ignored.
+    public void endTurn(long rollVersion) {
+        post(() -> {
+            if (winner >= 0 || rollVersion != this.rollVersion) return;
+            this.rollVersion = -1;
+            GameLogic.Player cp = game.getCurrentPlayer();
+            if (cp.position >= game.getNodeCount()) {
+                game.recordWin(cp.name);
+                saveReplay();
+                games++;
+                winner = game.getCurrentPlayerIndex();
+            } else {
+                game.advanceTurn();
+            }
+            publish(null);
+        });
+    }
+
+    public void newGame() {
+        post(() -> {
+            game.resetGame();
+            winner = -1;
+            rollVersion = -1;
+            publish(null);
+        });
+    }
+
+    public void startAutoPlay() {
+        if (autoPlay) return;
+        autoPlay = true;
+        post(this::autoPlayLoop);
+    }
+
+    // The engine publishes a final snapshot once the running turn is done.
+    public void stopAutoPlay() {
+        autoPlay = false;
+    }
+
+    public boolean isAutoPlaying() {
+        return autoPlay;
+    }
+
+    // Asks an auto-playing engine for a snapshot at the end of its next turn.
+    public void requestSnapshot() {
+        snapshotWanted = true;
+    }
+
+    // Finishes the queued commands, then stops the thread; the game is the caller's again.
+    @Override
+    public void close() {
+        autoPlay = false;
+        post(() -> closed = true);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void post(Runnable command) {
+        commands.add(command);
+    }
+
+    private void loop() {
+        while (!closed) {
+            try {
+                commands.take().run();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Throwable e) {
+                // a failed command must not take the engine down with it
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void publish(MovePath move) {
+        latest = new GameSnapshot(++version, game, move, winner, games, turns);
+        Runnable l = listener;
+        if (l != null) l.run();
+    }
+
+    private void autoPlayLoop() {
+        // a game that already has a winner is restarted first
+        if (winner >= 0) {
+            game.resetGame();
+            winner = -1;
+        }
+        rollVersion = -1;
+        try {
+            playUntilStopped();
+        } finally {
+            // also when a turn failed: the window must not keep waiting for a stopped engine
+            autoPlay = false;
+            publish(null);
+        }
+    }
+
+    private void playUntilStopped() {
+        long allocated = Metrics.ENABLED ? Metrics.allocatedBytes() : -1;
+        long played = 0;
+
+        while (autoPlay) {
+            int dice = game.rollDice();
+            game.moveCurrentPlayer(dice);
+            turns++;
+            played++;
+            if (game.getCurrentPlayer().position >= game.getNodeCount()) {
+                game.recordWin(game.getCurrentPlayer().name);
+                games++;
+                game.resetGame();
+            } else {
+                game.advanceTurn();
+            }
+
+            // allocation is read per 4096 turns; the reading itself allocates nothing
+            if (allocated >= 0 && (played & 4095) == 0) {
+                long now = Metrics.allocatedBytes();
+                Metrics.ALLOC_PER_TURN.record((now - allocated) / 4096);
+                allocated = now;
+            }
+
+            // the only producer allowed to wait for the event writer
+            GameEventLog events = game.getEventLog();
+            while (events != null && events.isCongested() && autoPlay) LockSupport.parkNanos(100_000L);
+
+            if (snapshotWanted) {
+                snapshotWanted = false;
+                publish(null);
+            }
+        }
+    }
+
+    // Appends the finished game to the file named by -Drolldice.replays, if set.
+    private void saveReplay() {
+        String path = System.getProperty("rolldice.replays");
+        if (path == null) return;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path, true)))) {
+            game.getReplay().writeTo(out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Everything that happens in the games attached to it (GameLogic.setEventLog), written to a file
+// by a background thread. Games post events into a bounded ring shared by any number of producer
+// threads: a slot is claimed with one CAS and published with a release store, nothing blocks, and
+// an event that finds the ring full is dropped and counted. isCongested() lets a producer that can
+// afford to wait (a headless engine) slow down; the EDT never waits.
+//
+// Events of one game come out in the order they happened: GAME, then per turn ROLL, MOVE (the whole
+// move, ladder included), LADDER if it climbed one, STAR if it ended on one, and WIN last. Games
+// posted from different threads interleave.
+//
+// File: magic RDEV, version, then batches. A batch is its event count followed by the events
+// column by column (little endian):
+//   type[n] seat[n] arg[n] (bytes) | game[n] a[n] b[n] c[n] (ints)
+public final class GameEventLog implements Closeable {
+
+    // game started: a = tiles, b = seats
+    public static final byte GAME = 1;
+    // arg = dice | 0x08 if green
+    public static final byte ROLL = 2;
+    // a = start, b = end of the walk, c = final tile (TableEvent.path() rebuilds the tiles)
+    public static final byte MOVE = 3;
+    // a = ladder source, b = target
+    public static final byte LADDER = 4;
+    // a = tile, arg = extra turns granted
+    public static final byte STAR = 5;
+    // a = tile
+    public static final byte WIN = 6;
+
+    private static final int MAGIC = 0x52444556; // "RDEV"
+    private static final int VERSION = 1;
+    private static final int EVENT_BYTES = 3 + 4 * 4;
+    private static final int BATCH = 8192;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final int capacity;
+    private final int mask;
+    private final byte[] type;
+    private final byte[] seat;
+    private final byte[] arg;
+    private final int[] game;
+    private final int[] a;
+    private final int[] b;
+    private final int[] c;
+    // published[slot] == sequence + 1 once the event claimed as sequence is fully written
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    private final AtomicLong nextGameId = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long written;
+
+    private final FileChannel channel;
+    private final ByteBuffer out;
+    private final Thread writer;
+    private volatile boolean closing;
+    private IOException failure;
+
+    public GameEventLog(Path file) throws IOException {
+        this(file, 1 << 16);
+    }
+
+    // capacity is rounded up to a power of two
+    public GameEventLog(Path file, int capacity) throws IOException {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        type = new byte[this.capacity];
+        seat = new byte[this.capacity];
+        arg = new byte[this.capacity];
+        game = new int[this.capacity];
+        a = new int[this.capacity];
+        b = new int[this.capacity];
+        c = new int[this.capacity];
+        published = new AtomicLongArray(this.capacity);
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        out = ByteBuffer.allocateDirect(4 + BATCH * EVENT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() == 0) {
+            out.putInt(MAGIC).putInt(VERSION).flip();
+            while (out.hasRemaining()) channel.write(out);
+            out.clear();
+        }
+
+        writer = new Thread(this::drainLoop, "event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Id for a game's events; GameLogic takes one per game played.
+    public int newGameId() {
+        return (int) nextGameId.getAndIncrement();
+    }
+
+    // Never blocks. Returns false (and counts a drop) when the ring is full.
+    public boolean post(byte eventType, int eventSeat, int eventArg, int gameId, int x, int y, int z) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed >= capacity) {
+                dropped.increment();
+                if (Metrics.ENABLED) Metrics.EVENTS_DROPPED.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        int i = (int) seq & mask;
+        type[i] = eventType;
+        seat[i] = (byte) eventSeat;
+        arg[i] = (byte) eventArg;
+        game[i] = gameId;
+        a[i] = x;
+        b[i] = y;
+        c[i] = z;
+        published.lazySet(i, seq + 1);
+        return true;
+    }
+
+    // More than three quarters full: a producer that may wait should, until the writer catches up.
+    public boolean isCongested() {
+        return claimed.get() - consumed > capacity - (capacity >> 2);
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    // Writes what was posted before this call, then closes the file.
+    @Override
+    public void close() throws IOException {
+        if (closing) return;
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) throw failure;
+    }
+
+    private void drainLoop() {
+        try {
+            while (true) {
+                boolean last = closing;
+                if (drainBatch() == 0) {
+                    if (last) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            // nothing more can be written: keep emptying the ring so producers only see drops
+            while (!closing) {
+                long n = claimed.get() - consumed;
+                if (n > 0) {
+                    dropped.add(n);
+                    consumed += n;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Copies up to BATCH published events into one columnar batch and writes it.
+    private int drainBatch() throws IOException {
+        long start = consumed;
+        int n = 0;
+        while (n < BATCH && published.get((int) (start + n) & mask) == start + n + 1) n++;
+        if (n == 0) return 0;
+
+        out.clear();
+        out.putInt(n);
+        for (int k = 0; k < n; k++) out.put(type[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.put(seat[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.put(arg[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.putInt(game[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.putInt(a[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.putInt(b[(int) (start + k) & mask]);
+        for (int k = 0; k < n; k++) out.putInt(c[(int) (start + k) & mask]);
+        // the slots are free again as soon as they are copied
+        consumed = start + n;
+
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        written += n;
+        if (Metrics.ENABLED) Metrics.EVENTS_WRITTEN.add(n);
+        return n;
+    }
+
+    // Reads a log back batch by batch; visitor sees every event in file order.
+    public interface Visitor {
+        void event(byte type, int seat, int arg, int game, int a, int b, int c);
+    }
+
+    public static void read(Path file, Visitor visitor) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() < 8 || buf.getInt() != MAGIC) throw new IOException("not an event log: " + file);
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("unsupported event log version " + version);
+
+            while (buf.remaining() >= 4) {
+                int n = buf.getInt();
+                // a batch cut short by a crash ends the log
+                if (n <= 0 || (long) n * EVENT_BYTES > buf.remaining()) break;
+                int base = buf.position();
+                for (int k = 0; k < n; k++) {
+                    int ints = base + 3 * n;
+                    visitor.event(buf.get(base + k), buf.get(base + n + k), buf.get(base + 2 * n + k),
+                            buf.getInt(ints + 4 * k), buf.getInt(ints + 4 * (n + k)),
+                            buf.getInt(ints + 4 * (2 * n + k)), buf.getInt(ints + 4 * (3 * n + k)));
+                }
+                buf.position(base + n * EVENT_BYTES);
+            }
+        }
+    }
+
+    // Summary of a log: java GameEventLog <file>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java GameEventLog <event log>");
+            System.exit(2);
+        }
+        long[] counts = new long[8];
+        Map<Integer, Long> ladderHits = new TreeMap<>();
+        long[] green = new long[1];
+        Set<Integer> games = new HashSet<>();
+        read(Paths.get(args[0]), (t, s, x, g, p, q, r) -> {
+            if (t > 0 && t < counts.length) counts[t]++;
+            if (t == ROLL && (x & 0x08) != 0) green[0]++;
+            if (t == LADDER) ladderHits.merge(p, 1L, Long::sum);
+            games.add(g);
+        });
+        System.out.printf("%s: %,d bytes%n", args[0], Files.size(Paths.get(args[0])));
+        System.out.printf("%,d games seen, %,d started, %,d won%n", games.size(), counts[GAME], counts[WIN]);
+        System.out.printf("%,d rolls (%.1f%% green), %,d moves, %,d star landings%n", counts[ROLL],
+                counts[ROLL] == 0 ? 0 : 100.0 * green[0] / counts[ROLL], counts[MOVE], counts[STAR]);
+        ladderHits.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
+                .limit(10)
+                .forEach(e -> System.out.printf("ladder from %d: %,d climbs%n", e.getKey(), e.getValue()));
+    }
+}
@@ -1,14 +1,18 @@
 import javax.swing.*;
-import javax.sound.sampled.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
 
 public class GameFrame extends JFrame {
     private final GameLogic game;
+    // plays the game on its own thread; everything below is drawn from its snapshots
+    private final GameEngine engine;
     private final BoardPanel boardPanel;
 
     private final JLabel turnLabel;
@@ -16,45 +20,82 @@ public class GameFrame extends JFrame {
     private final JLabel diceLabel;
     private final JButton rollButton;
     private final JButton startNewGameButton;
-    private final JPanel leaderboardPanel;
-
-    private final ImageIcon[] diceGreen = new ImageIcon[7];
-    private final ImageIcon[] diceRed = new ImageIcon[7];
-    private Image panelRightBg, panelLeftBg, leaderboardBg;
-
-    private final int ANIMATION_DELAY = 220; // untuk suara step
+    private final JCheckBox autoPlayToggle;
+    private final LeaderboardView leaderboardPanel;
+
+    private static final String PANEL_RIGHT = "/ui/panel_right.png";
+    private static final String PANEL_LEFT = "/ui/panel_left.png";
+
+    // drawn from one sprite atlas at the size they are shown at; null where the image is missing
+    private final Icon[] diceGreen = new Icon[7];
+    private final Icon[] diceRed = new Icon[7];
+    private final Icon[] avatars = new Icon[5];
+
+    private final AssetCache assets = AssetCache.get();
+    private final AudioEngine audio = new AudioEngine(3);
+    // dice faces flashed during the roll animation; kept apart from the game's own generator
+    private final SplittableRandom cosmeticRand = new SplittableRandom();
+    // single frame clock shared by the dice and the board
+    private final AnimationScheduler animations = new AnimationScheduler();
+    // set by the engine thread, cleared on the EDT: at most one snapshot hand-over is queued
+    private volatile boolean snapshotPending;
+    private long shownVersion = -1;
+    // spectator mode: the engine plays flat out, the EDT shows its newest snapshot once per frame
+    private boolean autoPlay;
+    private GameSnapshot rateSample;
+    // from the click on ROLL DICE until the move has been animated
+    private boolean turnInProgress;
+    private long turnStartNanos;
 
     public GameFrame() {
+        preloadAssets();
         int numPlayers = askPlayerCount();
         List<String> names = askPlayerNames(numPlayers);
-        game = new GameLogic(100, names);
+        game = new GameLogic(Integer.getInteger("rolldice.tiles", 100), names);
+        openLeaderboard();
+        openEventLog();
+        engine = new GameEngine(game);
+        GameSnapshot initial = engine.snapshot();
 
         setTitle("Roll Dice Game");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                shutdown();
+            }
+        });
         setSize(1200, 750);
         setLayout(new BorderLayout());
         setLocationRelativeTo(null);
 
-        loadUiImages();
-
         JPanel leftPanel = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (panelLeftBg != null) g.drawImage(panelLeftBg, 0, 0, getWidth(), getHeight(), null);
+                Image bg = assets.scaled(PANEL_LEFT, getWidth(), getHeight());
+                if (bg != null) g.drawImage(bg, 0, 0, null);
             }
         };
         leftPanel.setPreferredSize(new Dimension(220, 750));
         add(leftPanel, BorderLayout.WEST);
 
-        boardPanel = new BoardPanel(game, this);
-        add(boardPanel, BorderLayout.CENTER);
+        boardPanel = new BoardPanel(initial, this, animations);
+        if (boardPanel.isScrolling()) {
+            JScrollPane boardScroll = new JScrollPane(boardPanel);
+            boardScroll.getVerticalScrollBar().setUnitIncrement(16);
+            boardScroll.getHorizontalScrollBar().setUnitIncrement(16);
+            add(boardScroll, BorderLayout.CENTER);
+        } else {
+            add(boardPanel, BorderLayout.CENTER);
+        }
 
         JPanel rightPanel = new JPanel(new BorderLayout()) {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (panelRightBg != null) g.drawImage(panelRightBg, 0, 0, getWidth(), getHeight(), null);
+                Image bg = assets.scaled(PANEL_RIGHT, getWidth(), getHeight());
+                if (bg != null) g.drawImage(bg, 0, 0, null);
             }
         };
         rightPanel.setPreferredSize(new Dimension(280, 750));
@@ -80,22 +121,13 @@ public class GameFrame extends JFrame {
         centerStack.add(Box.createVerticalStrut(10));
         centerStack.add(diceLabel);
 
-        leaderboardPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (leaderboardBg != null) g.drawImage(leaderboardBg, 0, 0, getWidth(), getHeight(), null);
-            }
-        };
-        leaderboardPanel.setOpaque(false);
-        leaderboardPanel.setLayout(new BoxLayout(leaderboardPanel, BoxLayout.Y_AXIS));
-        leaderboardPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        leaderboardPanel = new LeaderboardView(game.getLeaderboard(), 3, "/ui/leaderboard_bg.png");
         centerStack.add(Box.createVerticalStrut(10));
         centerStack.add(leaderboardPanel);
 
         rightPanel.add(centerStack, BorderLayout.CENTER);
 
-        JPanel bottomButtons = new JPanel(new GridLayout(2, 1, 10, 10));
+        JPanel bottomButtons = new JPanel(new GridLayout(3, 1, 10, 10));
         bottomButtons.setOpaque(false);
 
         rollButton = createImageButton("/ui/roll_button.png", "ROLL DICE");
@@ -105,28 +137,72 @@ public class GameFrame extends JFrame {
         startNewGameButton = new JButton("START NEW GAME");
         startNewGameButton.setFont(new Font("Arial", Font.BOLD, 16));
         startNewGameButton.addActionListener(e -> {
-            game.resetGame();
-            rollButton.setEnabled(true);
-            updateAllUI();
+            rollButton.setEnabled(false);
+            engine.newGame();
         });
         bottomButtons.add(startNewGameButton);
 
+        JPanel toggles = new JPanel(new GridLayout(1, 2));
+        toggles.setOpaque(false);
+
+        // -Drolldice.turbo starts with it on
+        JCheckBox turbo = new JCheckBox("TURBO", Boolean.getBoolean("rolldice.turbo"));
+        turbo.setFont(new Font("Arial", Font.BOLD, 16));
+        turbo.setOpaque(false);
+        turbo.setHorizontalAlignment(SwingConstants.CENTER);
+        turbo.addActionListener(e -> animations.setTurbo(turbo.isSelected()));
+        animations.setTurbo(turbo.isSelected());
+        toggles.add(turbo);
+
+        autoPlayToggle = new JCheckBox("AUTO PLAY");
+        autoPlayToggle.setFont(new Font("Arial", Font.BOLD, 16));
+        autoPlayToggle.setOpaque(false);
+        autoPlayToggle.setHorizontalAlignment(SwingConstants.CENTER);
+        autoPlayToggle.addActionListener(e -> {
+            if (!setAutoPlay(autoPlayToggle.isSelected())) autoPlayToggle.setSelected(false);
+        });
+        toggles.add(autoPlayToggle);
+        bottomButtons.add(toggles);
+
         rightPanel.add(bottomButtons, BorderLayout.SOUTH);
 
-        loadDiceIcons();
+        buildSprites();
         diceLabel.setIcon(diceGreen[1] != null ? diceGreen[1] : new ImageIcon(createPlaceholderImage(100, 100, "1")));
 
-        updateAllUI();
+        shownVersion = initial.version;
+        updateCurrentTurnHeader(initial);
+        rollButton.setEnabled(initial.winner < 0);
+        engine.setListener(() -> {
+            if (snapshotPending) return;
+            snapshotPending = true;
+            SwingUtilities.invokeLater(() -> {
+                snapshotPending = false;
+                onSnapshot(engine.snapshot());
+            });
+        });
 
         setVisible(true);
+        boardPanel.followCurrentPlayer();
+        Metrics.probeEventQueue();
+    }
+
+    // decoded in the background while the player dialogs are open
+    private void preloadAssets() {
+        List<String> paths = new ArrayList<>(Arrays.asList(
+                PANEL_RIGHT, PANEL_LEFT, "/ui/leaderboard_bg.png", "/ui/roll_button.png"));
+        for (int i = 1; i <= 6; i++) {
+            paths.add("/dice_green_" + i + ".png");
+            paths.add("/dice_red_" + i + ".png");
+        }
+        for (int i = 0; i < 5; i++) paths.add(BoardPanel.avatarPath(i));
+        assets.preload(paths.toArray(new String[0]));
     }
 
     private JButton createImageButton(String path, String fallbackText) {
-        URL url = getClass().getResource(path);
         JButton btn = new JButton(fallbackText);
         btn.setFocusPainted(false);
-        if (url != null) {
-            Image img = new ImageIcon(url).getImage().getScaledInstance(220, 60, Image.SCALE_SMOOTH);
+        Image img = assets.scaled(path, 220, 60);
+        if (img != null) {
             btn.setIcon(new ImageIcon(img));
             btn.setText("");
             btn.setBorder(BorderFactory.createEmptyBorder());
@@ -135,159 +211,199 @@ public class GameFrame extends JFrame {
         return btn;
     }
 
-    private void loadUiImages() {
-        panelRightBg = loadImage("/ui/panel_right.png");
-        panelLeftBg = loadImage("/ui/panel_left.png");
-        leaderboardBg = loadImage("/ui/leaderboard_bg.png");
-    }
-
-    private void loadDiceIcons() {
+    // Dice faces and header avatars, packed once in the window's pixel format.
+    private void buildSprites() {
+        SpriteAtlas.Builder atlas = new SpriteAtlas.Builder();
         int diceSize = 100;
+        int[] green = new int[7], red = new int[7], faces = new int[avatars.length];
         for (int i = 1; i <= 6; i++) {
-            diceGreen[i] = loadIconScaled("/dice_green_" + i + ".png", diceSize, diceSize);
-            diceRed[i] = loadIconScaled("/dice_red_" + i + ".png", diceSize, diceSize);
+            green[i] = atlas.add(assets.scaled("/dice_green_" + i + ".png", diceSize, diceSize));
+            red[i] = atlas.add(assets.scaled("/dice_red_" + i + ".png", diceSize, diceSize));
         }
-    }
-
-    private Image loadImage(String path) {
-        URL url = getClass().getResource(path);
-        return (url != null) ? new ImageIcon(url).getImage() : null;
-    }
+        for (int i = 0; i < avatars.length; i++) faces[i] = atlas.add(assets.circular(BoardPanel.avatarPath(i), 120, 3f));
 
-    private ImageIcon loadIconScaled(String path, int w, int h) {
-        URL url = getClass().getResource(path);
-        if (url == null) return null;
-        Image scaled = new ImageIcon(url).getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaled);
-    }
-
-    private void updateAllUI() {
-        updateCurrentTurnHeader();
-        updateLeaderboardPanel();
-        boardPanel.repaint();
+        SpriteAtlas sprites = atlas.build(getGraphicsConfiguration());
+        for (int i = 1; i <= 6; i++) {
+            diceGreen[i] = green[i] >= 0 ? sprites.icon(green[i]) : null;
+            diceRed[i] = red[i] >= 0 ? sprites.icon(red[i]) : null;
+        }
+        for (int i = 0; i < avatars.length; i++) avatars[i] = faces[i] >= 0 ? sprites.icon(faces[i]) : null;
     }
 
-    private void updateCurrentTurnHeader() {
-        GameLogic.Player cp = game.getCurrentPlayer();
-        turnLabel.setText("its your turn: " + cp.name);
+    private void updateCurrentTurnHeader(GameSnapshot s) {
+        turnLabel.setText("its your turn: " + s.names.get(s.currentPlayer));
 
-        int avatarIndex = game.getCurrentPlayerIndex() + 1;
-        Image avatar = loadImage("/player/p" + avatarIndex + ".png");
+        int avatarIndex = s.currentPlayer + 1;
         int size = 120;
-        if (avatar != null) profileCircle.setIcon(new ImageIcon(toCircular(avatar, size, size)));
+        Icon avatar = s.currentPlayer < avatars.length ? avatars[s.currentPlayer] : null;
+        if (avatar != null) profileCircle.setIcon(avatar);
         else profileCircle.setIcon(new ImageIcon(createPlaceholderImage(size, size, "P" + avatarIndex)));
 
-        ImageIcon[] set = cp.greenMove ? diceGreen : diceRed;
+        Icon[] set = s.green ? diceGreen : diceRed;
         diceLabel.setIcon(set[1] != null ? set[1] : new ImageIcon(createPlaceholderImage(100, 100, "1")));
     }
 
-    private BufferedImage toCircular(Image img, int w, int h) {
-        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = out.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        Shape circle = new java.awt.geom.Ellipse2D.Float(0, 0, w, h);
-        g2.setClip(circle);
-        g2.drawImage(img, 0, 0, w, h, null);
-        g2.setClip(null);
-        g2.setColor(Color.BLACK);
-        g2.setStroke(new BasicStroke(3f));
-        g2.draw(circle);
-        g2.dispose();
-        return out;
-    }
-
-    private void updateLeaderboardPanel() {
-        leaderboardPanel.removeAll();
-        JLabel title = new JLabel("leader board", SwingConstants.CENTER);
-        title.setFont(new Font("Arial", Font.BOLD, 18));
-        title.setAlignmentX(Component.CENTER_ALIGNMENT);
-        leaderboardPanel.add(title);
-        leaderboardPanel.add(Box.createVerticalStrut(8));
-
-        List<Map.Entry<String, Integer>> top = game.getTopWinners();
-        if (top.isEmpty()) {
-            JLabel empty = new JLabel("Belum ada kemenangan.", SwingConstants.CENTER);
-            empty.setAlignmentX(Component.CENTER_ALIGNMENT);
-            leaderboardPanel.add(empty);
-        } else {
-            for (Map.Entry<String, Integer> e : top) {
-                JLabel row = new JLabel(e.getKey() + " — " + e.getValue() + " win");
-                row.setFont(new Font("Arial", Font.PLAIN, 14));
-                row.setAlignmentX(Component.CENTER_ALIGNMENT);
-                leaderboardPanel.add(row);
-            }
-        }
-        leaderboardPanel.revalidate();
-        leaderboardPanel.repaint();
-    }
-
+    // 14 random faces, one every 70 ms of timeline, then the rolled face. The roll sound is the
+    // track's start cue, so it stays in step with the faces at any speed.
     private void animateDiceRoll(boolean green, int finalResult, Runnable onComplete) {
-        final ImageIcon[] set = green ? diceGreen : diceRed;
-        javax.swing.Timer rollTimer = new javax.swing.Timer(70, null);
-        final int[] rolls = {0};
+        final Icon[] set = green ? diceGreen : diceRed;
         final int totalRolls = 14;
-
-        rollTimer.addActionListener(e -> {
-            if (rolls[0] < totalRolls) {
-                int val = (int) (Math.random() * 6) + 1;
-                diceLabel.setIcon(set[val]);
-                rolls[0]++;
-            } else {
-                ((javax.swing.Timer) e.getSource()).stop();
-                diceLabel.setIcon(set[finalResult]);
-                if (onComplete != null) onComplete.run();
+        final int[] shown = {-1};
+
+        animations.play(time -> {
+            int face = (int) (time / 70);
+            if (shown[0] < 0) audio.play(AudioEngine.Sound.ROLL);
+            if (face < totalRolls) {
+                if (face != shown[0]) {
+                    shown[0] = face;
+                    diceLabel.setIcon(set[cosmeticRand.nextInt(6) + 1]);
+                }
+                return true;
             }
+            diceLabel.setIcon(set[finalResult]);
+            if (onComplete != null) onComplete.run();
+            return false;
         });
-        rollTimer.start();
     }
 
     private void rollAction() {
         rollButton.setEnabled(false);
-        GameLogic.Player cp = game.getCurrentPlayer();
-        int dice = game.rollDice();
-
-        playSound("roll_dice.wav");
-
-        animateDiceRoll(cp.greenMove, dice, () -> {
-            Stack<Integer> movePath = game.moveCurrentPlayer(dice);
-            new Thread(() -> playStepSounds(movePath.size())).start();
-            boardPanel.animateMove(movePath, this::endTurnCheck);
-        });
+        // a new game now would drop the roll under the running animation
+        startNewGameButton.setEnabled(false);
+        turnInProgress = true;
+        if (Metrics.ENABLED) turnStartNanos = System.nanoTime();
+        engine.roll();
     }
 
-    private void playStepSounds(int stepCount) {
-        for (int i = 0; i < stepCount; i++) {
-            playSound("steps.wav");
-            try { Thread.sleep(ANIMATION_DELAY); } catch (InterruptedException ignored) {}
+    // Newest snapshot from the engine, on the EDT. A roll is played out (dice, then the walk) and
+    // handed back with endTurn(); anything else is shown as it is.
+    private void onSnapshot(GameSnapshot s) {
+        if (s.version <= shownVersion || autoPlay) return;
+        shownVersion = s.version;
+        boardPanel.showSnapshot(s);
+        if (s.hasMove()) {
+            animateDiceRoll(s.green, s.lastDice, () ->
+                    boardPanel.animateMove(s, () -> audio.play(AudioEngine.Sound.STEP), () -> engine.endTurn(s.version)));
+            return;
         }
+
+        if (turnInProgress) {
+            turnInProgress = false;
+            startNewGameButton.setEnabled(true);
+            // click to the end of the move animation
+            if (Metrics.ENABLED) Metrics.TURN_NANOS.record(System.nanoTime() - turnStartNanos);
+        }
+        boardPanel.followCurrentPlayer();
+        if (s.winner >= 0) {
+            rollButton.setEnabled(false);
+            JOptionPane.showMessageDialog(this, "Selamat " + s.names.get(s.winner) + " telah mencapai FINISH!");
+            return;
+        }
+        updateCurrentTurnHeader(s);
+        rollButton.setEnabled(true);
     }
 
-    private void playSound(String filename) {
+    // Wins are always written to disk: under -Drolldice.data, or ~/.rolldice when it is not set. Only
+    // when that directory cannot be opened does the board fall back to memory for this run.
+    private void openLeaderboard() {
+        Path dir = Paths.get(System.getProperty("rolldice.data",
+                Paths.get(System.getProperty("user.home"), ".rolldice").toString()));
         try {
-            URL url = getClass().getResource("/sounds/" + filename);
-            if (url == null) return;
-            AudioInputStream audioIn = AudioSystem.getAudioInputStream(url);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioIn);
-            clip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
+            game.setLeaderboard(Leaderboard.open(dir));
+        } catch (IOException e) {
+            System.err.println("Leaderboard not persisted: " + e.getMessage());
         }
     }
 
-    private void endTurnCheck() {
-        GameLogic.Player cp = game.getCurrentPlayer();
-        if (cp.position >= game.getNodeCount()) {
-            game.recordWin(cp.name);
-            updateLeaderboardPanel();
-            JOptionPane.showMessageDialog(this, "Selamat " + cp.name + " telah mencapai FINISH!");
+    // Lets the engine play on its own (or stops it). Refused while a roll is still animating.
+    private boolean setAutoPlay(boolean on) {
+        if (on) {
+            if (autoPlay) return true;
+            if (turnInProgress) return false;
+            autoPlay = true;
             rollButton.setEnabled(false);
-            return;
+            startNewGameButton.setEnabled(false);
+            rateSample = null;
+            engine.startAutoPlay();
+            GameSnapshot[] last = {null};
+            animations.play(time -> {
+                if (!autoPlay) return false;
+                if (!engine.isAutoPlaying()) {
+                    // the engine stopped on its own (a failed turn): hand the game back
+                    autoPlayToggle.setSelected(false);
+                    setAutoPlay(false);
+                    onSnapshot(engine.snapshot());
+                    return false;
+                }
+                GameSnapshot s = engine.snapshot();
+                if (s != last[0]) showAutoPlaySnapshot(s, last[0]);
+                last[0] = s;
+                engine.requestSnapshot();
+                return true;
+            });
+        } else if (autoPlay) {
+            autoPlay = false;
+            engine.stopAutoPlay();
+            startNewGameButton.setEnabled(true);
+            // the engine's final auto-play snapshot arrives through onSnapshot, with the header
+            shownVersion = -1;
         }
+        return true;
+    }
 
-        game.advanceTurn();
-        updateAllUI();
-        rollButton.setEnabled(true);
+    // Runs once per frame while auto-play is on, for each new snapshot.
+    private void showAutoPlaySnapshot(GameSnapshot s, GameSnapshot last) {
+        boardPanel.showSnapshot(s);
+        int leader = 0;
+        for (int i = 1; i < s.getPlayerCount(); i++) if (s.position(i) > s.position(leader)) leader = i;
+        boardPanel.followTile(s.position(leader));
+
+        if (last == null || last.currentPlayer != s.currentPlayer) {
+            Icon avatar = s.currentPlayer < avatars.length ? avatars[s.currentPlayer] : null;
+            if (avatar != null) profileCircle.setIcon(avatar);
+        }
+        Icon[] set = s.green ? diceGreen : diceRed;
+        if (s.lastDice > 0 && set[s.lastDice] != null) diceLabel.setIcon(set[s.lastDice]);
+
+        // the rate is refreshed twice a second so it stays readable
+        if (rateSample == null) rateSample = s;
+        long elapsed = s.nanos - rateSample.nanos;
+        if (elapsed >= 500_000_000L) {
+            turnLabel.setText(String.format("<html><center>auto: %,d games<br>%,.0f turns/s</center></html>",
+                    s.games, (s.turns - rateSample.turns) * 1e9 / elapsed));
+            rateSample = s;
+        }
+    }
+
+    // Every roll, move, ladder, star and win goes to -Drolldice.events when it is set.
+    private void openEventLog() {
+        String path = System.getProperty("rolldice.events");
+        if (path == null) return;
+        try {
+            game.setEventLog(new GameEventLog(Paths.get(path)));
+        } catch (IOException e) {
+            System.err.println("Event log not opened: " + e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        // the engine finishes its turn first, so nothing is posted to a closed log
+        engine.close();
+        GameEventLog events = game.getEventLog();
+        if (events != null) {
+            try {
+                events.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            if (events.getDropped() > 0) System.err.println(events.getDropped() + " game events dropped");
+        }
+        try {
+            game.getLeaderboard().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        audio.close();
     }
 
     private int askPlayerCount() {
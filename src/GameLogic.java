@@ -1,5 +1,6 @@
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 public class GameLogic {
 
@@ -18,51 +19,112 @@ public class GameLogic {
     private final int nodeCount;
     private final List<Player> players;
     private int currentPlayerIndex = 0;
-    public final Random rand = new Random();
-    private final Map<Integer, Integer> ladders = new HashMap<>();
-    private final Set<Integer> starTiles = new HashSet<>();
+    private final RandomGenerator rand;
+    private final long seed;
+    private volatile BoardLayout layout;
+    private LadderGenerator ladderGenerator = LadderGenerator.CLASSIC;
     private int lastDiceRoll = 0;
+    private GameReplay replay;
 
-    private final Map<String, Integer> winHistory = new HashMap<>();
+    private Leaderboard leaderboard = new Leaderboard();
+    // positions handed to strategies, refilled on every bot roll
+    private int[] seatPositions;
+    // optional event stream; gameId tags this game's events in it
+    private GameEventLog events;
+    private int gameId;
 
     public GameLogic(int nodeCount, List<String> playerNames) {
+        this(nodeCount, playerNames, new SplittableRandom().nextLong());
+    }
+
+    // Same seed, same seat order, ladders and rolls.
+    public GameLogic(int nodeCount, List<String> playerNames, long seed) {
+        this(nodeCount, playerNames, seed, new SplittableRandom(seed));
+    }
+
+    // Any generator will do; the recorded seed is 0 since it cannot be read back from rand.
+    public GameLogic(int nodeCount, List<String> playerNames, RandomGenerator rand) {
+        this(nodeCount, playerNames, 0L, rand);
+    }
+
+    private GameLogic(int nodeCount, List<String> playerNames, long seed, RandomGenerator rand) {
+        this.nodeCount = nodeCount;
+        this.seed = seed;
+        this.rand = rand;
+        this.players = createPlayers(playerNames);
+
+        // Fisher–Yates, as Collections.shuffle does, but on any RandomGenerator
+        for (int i = players.size(); i > 1; i--) Collections.swap(players, i - 1, rand.nextInt(i));
+
+        List<Integer> starTiles = generateStars();
+        layout = new BoardLayout(nodeCount, generateLadders(starTiles), starTiles);
+        replay = newReplay();
+    }
+
+    // Replay setup: seats in the given order and a fixed set of ladders.
+    GameLogic(int nodeCount, List<String> seats, Map<Integer, Integer> ladders, RandomGenerator rand) {
         this.nodeCount = nodeCount;
-        this.players = new ArrayList<>();
+        this.seed = 0L;
+        this.rand = rand;
+        this.players = createPlayers(seats);
+        layout = new BoardLayout(nodeCount, ladders, generateStars());
+        replay = newReplay();
+    }
 
+    private List<Player> createPlayers(List<String> playerNames) {
+        List<Player> list = new ArrayList<>();
         for (String name : playerNames) {
-            players.add(new Player(name));
-            winHistory.put(name, 0);
+            list.add(new Player(name));
+            leaderboard.register(name);
         }
+        return list;
+    }
 
-        Collections.shuffle(players, rand);
-
-        generateStars();
-        generateLadders();
+    private GameReplay newReplay() {
+        List<String> seats = new ArrayList<>(players.size());
+        for (Player p : players) seats.add(p.name);
+        return new GameReplay(nodeCount, seed, seats, layout.getLadders());
     }
 
     // LADDER & STAR
-    private void generateLadders() {
-        ladders.clear();
+    private Map<Integer, Integer> generateLadders(List<Integer> starTiles) {
+        if (nodeCount != 100) {
+            return ladderGenerator.generate(nodeCount, TileSet.of(nodeCount, starTiles), rand.nextLong());
+        }
+
+        Map<Integer, Integer> ladders = new HashMap<>();
         ladders.put(3, 22);
         ladders.put(8, 26);
         ladders.put(28, 55);
         ladders.put(58, 77);
         ladders.put(75, 96);
+        return ladders;
     }
 
-    private void generateStars() {
-        starTiles.clear();
+    private List<Integer> generateStars() {
+        List<Integer> starTiles = new ArrayList<>();
         for (int i = 5; i < nodeCount; i += 5) {
             starTiles.add(i);
         }
+        return starTiles;
     }
 
     public boolean isStarTile(int pos) {
-        return starTiles.contains(pos);
+        return layout.isStar(pos);
     }
 
     public Map<Integer, Integer> getLadders() {
-        return ladders;
+        return layout.getLadders();
+    }
+
+    // Current board; replaced as a whole on resetGame(), so one read gives a consistent view.
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    // Ladder rules used from the next resetGame() on.
+    public void setLadderGenerator(LadderGenerator ladderGenerator) {
+        this.ladderGenerator = ladderGenerator;
     }
 
     public int getNodeCount() {
@@ -86,45 +148,105 @@ public class GameLogic {
     }
 
     public void recordWin(String playerName) {
-        winHistory.put(playerName, winHistory.getOrDefault(playerName, 0) + 1);
+        if (Metrics.ENABLED) Metrics.GAMES.increment();
+        try {
+            leaderboard.recordWin(playerName);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        int seat = currentPlayerIndex;
+        if (!players.get(seat).name.equals(playerName)) {
+            seat = -1;
+            for (int i = 0; i < players.size() && seat < 0; i++) {
+                if (players.get(i).name.equals(playerName)) seat = i;
+            }
+        }
+        replay.recordWinner(seat);
+        if (events != null) events.post(GameEventLog.WIN, seat, 0, gameId, seat >= 0 ? players.get(seat).position : 0, 0, 0);
+    }
+
+    // Turns rolled since the last reset, ready to be saved.
+    public GameReplay getReplay() {
+        return replay;
+    }
+
+    public long getSeed() {
+        return seed;
     }
 
     public List<Map.Entry<String, Integer>> getTopWinners() {
-        return winHistory.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
-                .limit(3)
-                .collect(Collectors.toList());
+        return leaderboard.top(3);
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    // Switches to another (e.g. persistent) leaderboard; the current players are added to it.
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+        for (Player p : players) leaderboard.register(p.name);
     }
 
     public int rollDice() {
+        int dice = rand.nextInt(6) + 1;
+        boolean green = rand.nextDouble() < 0.8;
+        return applyRoll(dice, green);
+    }
+
+    // Choosable-direction roll for a bot: the dice value comes from the game's generator, the
+    // direction from the strategy. Replays record it like any other roll.
+    public int rollDice(Strategy strategy) {
         int dice = rand.nextInt(6) + 1;
         Player p = getCurrentPlayer();
-        p.greenMove = rand.nextDouble() < 0.8;
+        if (seatPositions == null) seatPositions = new int[players.size()];
+        for (int i = 0; i < seatPositions.length; i++) seatPositions[i] = players.get(i).position;
+        return applyRoll(dice, strategy.forward(seatPositions, currentPlayerIndex, p.extraTurns, dice));
+    }
+
+    // Sets up the current player's move as if the dice had come up this way, and logs the turn.
+    public int applyRoll(int dice, boolean green) {
+        Player p = getCurrentPlayer();
+        p.greenMove = green;
         lastDiceRoll = dice;
+        replay.recordTurn(dice, green);
+        if (events != null) events.post(GameEventLog.ROLL, currentPlayerIndex, dice | (green ? 0x08 : 0), gameId, 0, 0, 0);
         return dice;
     }
 
     // MOVE PLAYER
-    public Stack<Integer> moveCurrentPlayer(int dice) {
+    // Headless move: same rules, nothing recorded or allocated. Returns the new position.
+    public int moveCurrentPlayer(int dice) {
+        return moveCurrentPlayer(dice, null);
+    }
+
+    // Also writes every tile passed through, start included, into path (cleared first) when given.
+    public int moveCurrentPlayer(int dice, MovePath path) {
         Player p = getCurrentPlayer();
+        BoardLayout board = layout;
         int currentPos = p.position;
-        Stack<Integer> moves = new Stack<>();
-        moves.push(currentPos);
+        int start = currentPos;
+        int ladderFrom = 0;
+        if (path != null) {
+            path.clear();
+            path.add(currentPos);
+        }
 
         if (p.greenMove) {
             for (int i = 0; i < dice; i++) {
                 currentPos++;
                 if (currentPos > nodeCount) {
                     currentPos = nodeCount;
-                    moves.push(currentPos);
+                    if (path != null) path.add(currentPos);
                     break;
                 }
-                moves.push(currentPos);
+                if (path != null) path.add(currentPos);
             }
 
-            if (ladders.containsKey(currentPos)) {
-                currentPos = ladders.get(currentPos);
-                moves.push(currentPos);
+            if (board.hasLadder(currentPos)) {
+                ladderFrom = currentPos;
+                currentPos = board.jumpTarget(currentPos);
+                if (path != null) path.add(currentPos);
             }
 
         } else {
@@ -132,22 +254,30 @@ public class GameLogic {
                 currentPos--;
                 if (currentPos < 1) {
                     currentPos = 1;
-                    moves.push(currentPos);
+                    if (path != null) path.add(currentPos);
                     break;
                 }
-                moves.push(currentPos);
+                if (path != null) path.add(currentPos);
             }
         }
 
         p.position = currentPos;
+        if (Metrics.ENABLED) Metrics.TURNS.increment();
 
-        if (isStarTile(p.position)) {
-            p.extraTurns = 2;
+        // the move first, then what landing on its tiles caused (see GameEventLog)
+        if (events != null) {
+            int walkEnd = p.greenMove ? Math.min(start + dice, nodeCount) : Math.max(start - dice, 1);
+            events.post(GameEventLog.MOVE, currentPlayerIndex, dice, gameId, start, walkEnd, currentPos);
+            if (ladderFrom > 0) events.post(GameEventLog.LADDER, currentPlayerIndex, 0, gameId, ladderFrom, currentPos, 0);
         }
 
-        p.lastMovePrime = isPrime(p.position);
+        if (board.isStar(p.position)) {
+            p.extraTurns = 2;
+            if (events != null) events.post(GameEventLog.STAR, currentPlayerIndex, 2, gameId, currentPos, 0, 0);
+        }
 
-        return moves;
+        p.lastMovePrime = board.isPrime(p.position);
+        return currentPos;
     }
 
     public void advanceTurn() {
@@ -159,14 +289,6 @@ public class GameLogic {
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
     }
 
-    private boolean isPrime(int n) {
-        if (n < 2) return false;
-        for (int i = 2; i <= Math.sqrt(n); i++) {
-            if (n % i == 0) return false;
-        }
-        return true;
-    }
-
     // RESET GAME
     public void resetGame() {
         currentPlayerIndex = 0;
@@ -180,23 +302,27 @@ public class GameLogic {
         }
 
         regenerateLadders();
+        replay = newReplay();
+        if (events != null) startGameEvents();
     }
 
-    private void regenerateLadders() {
-        ladders.clear();
-        int ladderCount = 5;
-        Set<Integer> used = new HashSet<>();
+    // Streams this game's events into log from now on (null stops); every game played gets its own id.
+    public void setEventLog(GameEventLog log) {
+        events = log;
+        if (log != null) startGameEvents();
+    }
 
-        while (ladders.size() < ladderCount) {
-            int from = rand.nextInt(nodeCount - 20) + 2;
-            int to = from + rand.nextInt(15) + 5;
+    public GameEventLog getEventLog() {
+        return events;
+    }
 
-            if (to >= nodeCount) continue;
-            if (used.contains(from)) continue;
-            if (starTiles.contains(from)) continue;
+    private void startGameEvents() {
+        gameId = events.newGameId();
+        events.post(GameEventLog.GAME, 0, 0, gameId, nodeCount, players.size(), 0);
+    }
 
-            ladders.put(from, to);
-            used.add(from);
-        }
+    private void regenerateLadders() {
+        BoardLayout board = layout;
+        layout = board.withLadders(ladderGenerator.generate(nodeCount, board.getStarTiles(), rand.nextLong()));
     }
 }
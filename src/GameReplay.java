@@ -0,0 +1,172 @@
+import java.io.*;
+import java.util.*;
+
+// One game as played: the board, the seat order and one byte per turn (dice in the low 3 bits,
+// bit 3 set for a green move). Replaying feeds the same rolls back through GameLogic, so a game
+// recorded under old rules can be re-checked against the current ones.
+//
+// Record layout (big-endian): "RDRP", version, nodeCount, seed, seats (UTF names),
+// ladders (from, to pairs), turns, turn bytes, winning seat (-1 if unfinished).
+public final class GameReplay {
+
+    private static final int MAGIC = 0x52445250; // "RDRP"
+    private static final int VERSION = 1;
+    private static final int GREEN_BIT = 0x08;
+    private static final int DICE_MASK = 0x07;
+
+    private final int nodeCount;
+    private final long seed;
+    private final List<String> seats;
+    private final Map<Integer, Integer> ladders;
+    private byte[] turns;
+    private int turnCount;
+    private int winner = -1;
+
+    public GameReplay(int nodeCount, long seed, List<String> seats, Map<Integer, Integer> ladders) {
+        this.nodeCount = nodeCount;
+        this.seed = seed;
+        this.seats = List.copyOf(seats);
+        this.ladders = Collections.unmodifiableMap(new LinkedHashMap<>(ladders));
+        this.turns = new byte[64];
+    }
+
+    public void recordTurn(int dice, boolean green) {
+        if (dice < 1 || dice > 6) throw new IllegalArgumentException("dice out of range: " + dice);
+        if (turnCount == turns.length) turns = Arrays.copyOf(turns, turnCount * 2);
+        turns[turnCount++] = (byte) (dice | (green ? GREEN_BIT : 0));
+    }
+
+    public void recordWinner(int seat) {
+        this.winner = seat;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Seed of the session this game came from; informational, replay does not need it.
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getSeats() {
+        return seats;
+    }
+
+    public Map<Integer, Integer> getLadders() {
+        return ladders;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getDice(int turn) {
+        return turns[turn] & DICE_MASK;
+    }
+
+    public boolean isGreen(int turn) {
+        return (turns[turn] & GREEN_BIT) != 0;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    // Fresh headless game on the recorded board and seats; its own RNG is never used by replay().
+    public GameLogic newGame() {
+        return new GameLogic(nodeCount, seats, ladders, new SplittableRandom(seed));
+    }
+
+    // Plays every recorded turn under the current rules; returns the winning seat, or -1.
+    public int replay() {
+        return replay(newGame());
+    }
+
+    public int replay(GameLogic game) {
+        BoardLayout board = game.getLayout();
+        for (int t = 0; t < turnCount; t++) {
+            int dice = game.applyRoll(getDice(t), isGreen(t));
+            game.moveCurrentPlayer(dice);
+            if (board.isFinish(game.getCurrentPlayer().position)) return game.getCurrentPlayerIndex();
+            game.advanceTurn();
+        }
+        return -1;
+    }
+
+    // True when the current rules produce the recorded result.
+    public boolean verify() {
+        return replay() == winner;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(nodeCount);
+        out.writeLong(seed);
+        out.writeByte(seats.size());
+        for (String name : seats) out.writeUTF(name);
+        out.writeInt(ladders.size());
+        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(e.getValue());
+        }
+        out.writeInt(turnCount);
+        out.write(turns, 0, turnCount);
+        out.writeByte(winner);
+    }
+
+    // Reads one record; throws EOFException at a clean end of stream.
+    public static GameReplay readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("not a replay record");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("unsupported replay version " + version);
+
+        int nodeCount = in.readInt();
+        long seed = in.readLong();
+        int seatCount = in.readUnsignedByte();
+        List<String> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) seats.add(in.readUTF());
+        int ladderCount = in.readInt();
+        Map<Integer, Integer> ladders = new LinkedHashMap<>();
+        for (int i = 0; i < ladderCount; i++) ladders.put(in.readInt(), in.readInt());
+
+        GameReplay replay = new GameReplay(nodeCount, seed, seats, ladders);
+        replay.turnCount = in.readInt();
+        replay.turns = new byte[Math.max(replay.turnCount, 1)];
+        in.readFully(replay.turns, 0, replay.turnCount);
+        replay.winner = in.readByte();
+        return replay;
+    }
+
+    // Re-runs every game in a replay file and reports the ones whose result changed.
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: GameReplay <replay-file>");
+            System.exit(2);
+        }
+
+        long games = 0, turns = 0, mismatches = 0;
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+            while (true) {
+                GameReplay replay;
+                try {
+                    replay = readFrom(in);
+                } catch (EOFException end) {
+                    break;
+                }
+                int result = replay.replay();
+                if (result != replay.winner) {
+                    mismatches++;
+                    System.out.printf("game %d (seed %d): recorded seat %d, replayed seat %d%n",
+                            games, replay.seed, replay.winner, result);
+                }
+                games++;
+                turns += replay.turnCount;
+            }
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d turns replayed in %.2f s, %d mismatches%n", games, turns, secs, mismatches);
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.*;
+
+public class GameSimulator {
+
+    static final long GREEN_THRESHOLD = (long) (0.8 * (1L << 32));
+
+    private final int nodeCount;
+    private final int[] next;
+    private final int[] ladderFrom;
+    private final boolean[] star;
+    private final int playerCount;
+    private final int maxTurns;
+
+    private final int[] positions;
+    private final int[] extraTurns;
+    private final SplittableRandom rand;
+    private final long[] scratchLadderUse;
+    private int lastGameTurns = 0;
+
+    public GameSimulator(GameLogic game, long seed) {
+        this(game.getLayout(), game.getPlayers().size(), seed);
+    }
+
+    public GameSimulator(BoardLayout board, int playerCount, long seed) {
+        this.nodeCount = board.getNodeCount();
+        this.playerCount = playerCount;
+        // one below the int range, so the turn <= maxTurns loop always ends
+        this.maxTurns = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(10_000L, nodeCount * 100L));
+
+        this.next = board.moveTable();
+        this.star = new boolean[nodeCount + 1];
+        for (int i = 1; i <= nodeCount; i++) star[i] = board.isStar(i);
+
+        // ladderFrom[pos * 12 + k]: ladder source climbed by that move, 0 if none
+        this.ladderFrom = new int[next.length];
+        for (int pos = 1; pos <= nodeCount; pos++) {
+            for (int d = 1; d <= 6; d++) {
+                int landed = Math.min(pos + d, nodeCount);
+                if (next[pos * 12 + d - 1] != landed) ladderFrom[pos * 12 + d - 1] = landed;
+            }
+        }
+
+        this.positions = new int[playerCount];
+        this.extraTurns = new int[playerCount];
+        this.rand = new SplittableRandom(seed);
+        this.scratchLadderUse = new long[nodeCount + 1];
+    }
+
+    // Shares the move tables of another simulator; only the per-game state is new.
+    public GameSimulator(GameSimulator template, long seed) {
+        this.nodeCount = template.nodeCount;
+        this.next = template.next;
+        this.ladderFrom = template.ladderFrom;
+        this.star = template.star;
+        this.playerCount = template.playerCount;
+        this.maxTurns = template.maxTurns;
+
+        this.positions = new int[playerCount];
+        this.extraTurns = new int[playerCount];
+        this.rand = new SplittableRandom(seed);
+        this.scratchLadderUse = new long[nodeCount + 1];
+    }
+
+    // Plays one full game with the rules of GameLogic and GameFrame.endTurnCheck.
+    // Returns the winning seat, or -1 if the turn cap was hit.
+    public int playGame() {
+        return playGame(rand, scratchLadderUse);
+    }
+
+    public int playGame(long[] ladderUse) {
+        return playGame(rand, ladderUse);
+    }
+
+    // ladderUse[from] is incremented for every ladder climbed; slot 0 absorbs moves without a ladder.
+    public int playGame(SplittableRandom rand, long[] ladderUse) {
+        Arrays.fill(positions, 1);
+        Arrays.fill(extraTurns, 0);
+        int current = 0;
+
+        for (int turn = 1; turn <= maxTurns; turn++) {
+            // one draw per turn: high half picks the dice, low half the 80/20 direction
+            long r = rand.nextLong();
+            int k = (int) (((r >>> 32) * 6) >>> 32);
+            if ((r & 0xFFFFFFFFL) >= GREEN_THRESHOLD) k += 6;
+
+            int idx = positions[current] * 12 + k;
+            int pos = next[idx];
+            ladderUse[ladderFrom[idx]]++;
+            positions[current] = pos;
+
+            if (star[pos]) extraTurns[current] = 2;
+
+            if (pos >= nodeCount) {
+                lastGameTurns = turn;
+                return current;
+            }
+
+            if (extraTurns[current] > 0) extraTurns[current]--;
+            else if (++current == playerCount) current = 0;
+        }
+
+        lastGameTurns = maxTurns;
+        return -1;
+    }
+
+    public long[] run(long games) {
+        long[] wins = new long[playerCount];
+        for (long i = 0; i < games; i++) {
+            int winner = playGame();
+            if (winner >= 0) wins[winner]++;
+        }
+        return wins;
+    }
+
+    public int getLastGameTurns() {
+        return lastGameTurns;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) names.add("Player " + i);
+        GameSimulator sim = new GameSimulator(new GameLogic(100, names), 42L);
+
+        sim.run(Math.min(games, 1_000_000L)); // warm-up
+
+        long start = System.nanoTime();
+        long[] wins = sim.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games in %.3f s -> %.0f games/sec%n", games, seconds, games / seconds);
+        for (int i = 0; i < wins.length; i++) {
+            System.out.printf("seat %d: %.4f%n", i + 1, (double) wins[i] / games);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.*;
+
+// Everything the window shows of a game at one moment, copied out by the engine thread
+// (GameEngine) and never changed afterwards, so the EDT can read it without locks and can never
+// see a half-applied turn. Versions increase with every snapshot an engine publishes.
+public final class GameSnapshot {
+
+    public final long version;
+    public final BoardLayout layout;
+    public final List<String> names;
+    public final int currentPlayer;
+    // direction of the current player's last roll
+    public final boolean green;
+    public final int lastDice;
+    // seat that has just won, -1 while the game is on
+    public final int winner;
+    // seat that made the roll this snapshot reports, -1 if it reports none
+    public final int mover;
+    // games finished and turns played by the engine so far, and when this was taken
+    public final long games;
+    public final long turns;
+    public final long nanos;
+
+    private final int[] positions;
+    private final int[] move;
+
+    GameSnapshot(long version, GameLogic game, MovePath move, int winner, long games, long turns) {
+        this.version = version;
+        this.layout = game.getLayout();
+        List<GameLogic.Player> players = game.getPlayers();
+        List<String> seatNames = new ArrayList<>(players.size());
+        this.positions = new int[players.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = players.get(i).position;
+            seatNames.add(players.get(i).name);
+        }
+        this.names = Collections.unmodifiableList(seatNames);
+        this.currentPlayer = game.getCurrentPlayerIndex();
+        this.green = game.getCurrentPlayer().greenMove;
+        this.lastDice = game.getLastDiceRoll();
+        this.winner = winner;
+        this.move = move != null ? move.toArray() : null;
+        this.mover = move != null ? currentPlayer : -1;
+        this.games = games;
+        this.turns = turns;
+        this.nanos = System.nanoTime();
+    }
+
+    // Snapshot of a game nobody else is touching, for views built outside an engine.
+    public static GameSnapshot of(GameLogic game) {
+        return new GameSnapshot(0, game, null, -1, 0, 0);
+    }
+
+    public int getPlayerCount() {
+        return positions.length;
+    }
+
+    public int getNodeCount() {
+        return layout.getNodeCount();
+    }
+
+    // Tile of seat after the reported roll.
+    public int position(int seat) {
+        return positions[seat];
+    }
+
+    public int[] positions() {
+        return positions.clone();
+    }
+
+    public boolean hasMove() {
+        return move != null;
+    }
+
+    // Tiles the mover passed through, start included (see GameLogic.moveCurrentPlayer).
+    public int moveLength() {
+        return move == null ? 0 : move.length;
+    }
+
+    public int moveTile(int i) {
+        return move[i];
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.*;
+
+// Places ladders in O(n + ladders * rise span): candidate sources are drawn with a partial
+// Fisher–Yates pass, so every tile is looked at most once and no draw is ever retried.
+public final class LadderGenerator {
+
+    // 5 ladders per 100 tiles, rising 5..19, no chains, never from a star
+    public static final LadderGenerator CLASSIC = new LadderGenerator(0.05, 5, 19, false, false);
+
+    private static final byte FREE = 0;
+    private static final byte SOURCE = 1;
+    private static final byte TARGET = 2;
+
+    private final double density;
+    private final int minRise;
+    private final int maxRise;
+    private final boolean allowChains;
+    private final boolean allowStarSources;
+
+    // density: ladders per tile; chains: a ladder ending where another starts
+    public LadderGenerator(double density, int minRise, int maxRise, boolean allowChains, boolean allowStarSources) {
+        if (density < 0 || density > 1) throw new IllegalArgumentException("density must be in [0, 1]: " + density);
+        if (minRise < 1 || maxRise < minRise) {
+            throw new IllegalArgumentException("rise range must satisfy 1 <= min <= max: " + minRise + ".." + maxRise);
+        }
+        this.density = density;
+        this.minRise = minRise;
+        this.maxRise = maxRise;
+        this.allowChains = allowChains;
+        this.allowStarSources = allowStarSources;
+    }
+
+    public LadderGenerator withDensity(double density) {
+        return new LadderGenerator(density, minRise, maxRise, allowChains, allowStarSources);
+    }
+
+    public LadderGenerator withRise(int minRise, int maxRise) {
+        return new LadderGenerator(density, minRise, maxRise, allowChains, allowStarSources);
+    }
+
+    public int ladderCount(int nodeCount) {
+        return (int) Math.round(density * nodeCount);
+    }
+
+    public Map<Integer, Integer> generate(int nodeCount, TileSet stars, long seed) {
+        return generate(nodeCount, stars, ladderCount(nodeCount), new SplittableRandom(seed));
+    }
+
+    // Up to count ladders from tile 2 upwards, all ending below the finish. Fewer are returned
+    // when the board cannot hold count ladders under these constraints.
+    public Map<Integer, Integer> generate(int nodeCount, TileSet stars, int count, SplittableRandom rnd) {
+        int lastSource = nodeCount - 1 - minRise;
+        if (count <= 0 || lastSource < 2) return new HashMap<>();
+
+        int[] pool = new int[lastSource - 1];
+        int size = 0;
+        for (int tile = 2; tile <= lastSource; tile++) {
+            if (allowStarSources || !stars.contains(tile)) pool[size++] = tile;
+        }
+
+        byte[] state = new byte[nodeCount + 1];
+        Map<Integer, Integer> ladders = new HashMap<>(Math.min(count, size) * 4 / 3 + 1);
+        for (int i = 0; i < size && ladders.size() < count; i++) {
+            int j = i + rnd.nextInt(size - i);
+            int from = pool[j];
+            pool[j] = pool[i];
+
+            if (state[from] == TARGET && !allowChains) continue;
+            int to = pickTarget(from, nodeCount, state, rnd);
+            if (to == 0) continue;
+
+            ladders.put(from, to);
+            state[from] = SOURCE;
+            if (state[to] == FREE) state[to] = TARGET;
+        }
+        return ladders;
+    }
+
+    // Random rise in range; without chains, probes upward (wrapping) past tiles that are ladder sources.
+    private int pickTarget(int from, int nodeCount, byte[] state, SplittableRandom rnd) {
+        int span = Math.min(maxRise, nodeCount - 1 - from) - minRise + 1;
+        int offset = rnd.nextInt(span);
+        for (int k = 0; k < span; k++) {
+            int to = from + minRise + (offset + k) % span;
+            if (allowChains || state[to] != SOURCE) return to;
+        }
+        return 0;
+    }
+}
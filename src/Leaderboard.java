@@ -0,0 +1,209 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Win counts per player name with the leaders kept in order as wins come in, so reading the top
+// of the table costs O(K) however many players there are. Wins only ever go up by one, which lets
+// a name enter the top list only by passing its last entry.
+// Opened on a directory, wins are also appended to a crash-safe log there (see LeaderboardStore).
+// Recording a win only writes to memory: a background thread forces the log to disk every
+// SYNC_MILLIS and folds it into a new snapshot when it grows large.
+public final class Leaderboard implements Closeable {
+
+    public static final int DEFAULT_TOP = 10;
+    static final long SYNC_MILLIS = 1000;
+
+    // Called on the thread that recorded the win, after the leaderboard lock is released.
+    public interface Listener {
+        void leaderboardChanged(String name, int wins, boolean topChanged);
+    }
+
+    private final Map<String, Integer> wins = new HashMap<>();
+    private final String[] topNames;
+    private final int[] topWins;
+    private int topSize;
+    private final LeaderboardStore store;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // syncs and compactions of the store; null in memory
+    private ScheduledExecutorService background;
+    private boolean compacting;
+
+    // In memory only.
+    public Leaderboard() {
+        this(DEFAULT_TOP, null);
+    }
+
+    private Leaderboard(int topCapacity, LeaderboardStore store) {
+        this.topNames = new String[topCapacity];
+        this.topWins = new int[topCapacity];
+        this.store = store;
+    }
+
+    // Loads (or creates) the win log and snapshot in dir. On failure the files are released again.
+    public static Leaderboard open(Path dir) throws IOException {
+        LeaderboardStore store = new LeaderboardStore(dir);
+        Leaderboard board = new Leaderboard(DEFAULT_TOP, store);
+        try {
+            store.load(board.wins);
+            for (Map.Entry<String, Integer> e : board.wins.entrySet()) board.offer(e.getKey(), e.getValue());
+        } catch (IOException | RuntimeException e) {
+            try {
+                store.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        board.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "leaderboard-store");
+            t.setDaemon(true);
+            return t;
+        });
+        board.background.scheduleWithFixedDelay(board::sync, SYNC_MILLIS, SYNC_MILLIS, TimeUnit.MILLISECONDS);
+        return board;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Makes a player show up with 0 wins until their first one.
+    public void register(String name) {
+        boolean topChanged;
+        synchronized (this) {
+            if (wins.putIfAbsent(name, 0) != null) return;
+            topChanged = offer(name, 0);
+        }
+        fire(name, 0, topChanged);
+    }
+
+    // Counts the win and appends it to the log; an IOException means it is counted but not persisted.
+    public int recordWin(String name) throws IOException {
+        int count;
+        boolean topChanged;
+        IOException failure = null;
+        synchronized (this) {
+            count = wins.merge(name, 1, Integer::sum);
+            topChanged = offer(name, count);
+            if (store != null) {
+                try {
+                    store.append(name);
+                    if (store.needsCompaction() && !compacting && !background.isShutdown()) {
+                        compacting = true;
+                        background.execute(this::compact);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+        fire(name, count, topChanged);
+        if (failure != null) throw failure;
+        return count;
+    }
+
+    // Group commit: one force for every win recorded since the last one, outside the lock.
+    private void sync() {
+        Runnable force;
+        synchronized (this) {
+            force = store.takeUnsynced();
+        }
+        try {
+            if (force != null) force.run();
+        } catch (RuntimeException e) {
+            // the next sync tries again with the later records; this range stays in the page cache
+            e.printStackTrace();
+        }
+    }
+
+    // Writes the snapshot from a copy of the counts while wins go on, then restarts the log under
+    // the lock with the records that came in meanwhile.
+    private void compact() {
+        try {
+            Map<String, Integer> counts;
+            long generation;
+            int coveredEnd;
+            synchronized (this) {
+                counts = new HashMap<>(wins);
+                generation = store.getGeneration();
+                coveredEnd = store.getEnd();
+            }
+            store.writeSnapshot(counts, generation, coveredEnd);
+            synchronized (this) {
+                store.restartLog(coveredEnd);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    private void fire(String name, int count, boolean topChanged) {
+        for (Listener l : listeners) l.leaderboardChanged(name, count, topChanged);
+    }
+
+    public synchronized int getWins(String name) {
+        return wins.getOrDefault(name, 0);
+    }
+
+    public synchronized int size() {
+        return wins.size();
+    }
+
+    // Up to k leaders, most wins first; k is capped at the tracked top size.
+    public synchronized List<Map.Entry<String, Integer>> top(int k) {
+        int n = Math.min(k, topSize);
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(Map.entry(topNames[i], topWins[i]));
+        return result;
+    }
+
+    // Puts name at its new count into the top list if it belongs there, then bubbles it up.
+    // Returns false when the top list is untouched.
+    private boolean offer(String name, int count) {
+        int i = 0;
+        while (i < topSize && !topNames[i].equals(name)) i++;
+        if (i == topSize) {
+            if (topSize < topNames.length) topSize++;
+            else if (count > topWins[topSize - 1]) i = topSize - 1;
+            else return false;
+        }
+        topNames[i] = name;
+        topWins[i] = count;
+        for (; i > 0 && topWins[i - 1] < count; i--) {
+            topNames[i] = topNames[i - 1];
+            topWins[i] = topWins[i - 1];
+            topNames[i - 1] = name;
+            topWins[i - 1] = count;
+        }
+        return true;
+    }
+
+    // Lets a running compaction finish, folds the log into a fresh snapshot and releases the files.
+    @Override
+    public void close() throws IOException {
+        if (store == null) return;
+        background.shutdown();
+        try {
+            background.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            store.compact(wins);
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Win counts on disk: a compacted snapshot plus a memory-mapped, append-only log of wins since.
+//
+// wins.log:          magic, version, generation, then records of [name length, UTF-8 name, CRC32]
+// leaderboard.snap:  magic, version, generation, covered log end, entry count, (name, wins)*,
+//                    CRC32 of all before it
+//
+// Appends only write to the mapping; sync() forces them to disk in groups, so a process crash loses
+// nothing and a machine crash loses at most the wins since the last sync.
+//
+// Both files carry a generation. A snapshot covers its generation's log up to the recorded end, so
+// it can be written while wins keep coming in. Compaction first replaces the snapshot (written to a
+// temp file and renamed), then copies the records after the covered end to the start of the log,
+// ends them with a zero length and only then bumps the log's generation: a crash at any point
+// leaves either the old snapshot and its log, or the new snapshot and a log to replay from its end.
+// A record torn by a crash fails its CRC and is dropped along with anything after it.
+// The log is never renamed or truncated, since a mapped file cannot be replaced on every platform.
+final class LeaderboardStore implements Closeable {
+
+    private static final int LOG_MAGIC = 0x52444c47;  // "RDLG"
+    private static final int SNAP_MAGIC = 0x5244534e; // "RDSN"
+    private static final int VERSION = 1;
+    // version 1 snapshots have no covered end and cover their whole generation
+    private static final int SNAP_VERSION = 2;
+    private static final int LOG_HEADER = 16;
+    private static final int MAP_CHUNK = 1 << 20;
+    private static final int MAX_NAME_BYTES = 4096;
+
+    // log size that triggers compaction into a new snapshot
+    static final int COMPACT_BYTES = 4 << 20;
+
+    private final Path logFile;
+    private final Path snapFile;
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer log;
+    private long generation;
+    // log end already forced to disk
+    private int syncedEnd;
+    // log end covered by the snapshot just read, -1 for all of its generation
+    private int snapCovered = -1;
+
+    LeaderboardStore(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        this.logFile = dir.resolve("wins.log");
+        this.snapFile = dir.resolve("leaderboard.snap");
+    }
+
+    // Reads the snapshot and the log into counts and leaves the log open for appends.
+    void load(Map<String, Integer> counts) throws IOException {
+        long snapGeneration = -1;
+        if (Files.exists(snapFile)) snapGeneration = readSnapshot(counts);
+
+        openLog();
+        int magic = log.getInt(0);
+        if (magic == 0) {
+            // new file, or a crash before the first header was written
+            startLog(log.limit(), snapGeneration + 1);
+            return;
+        }
+        if (magic != LOG_MAGIC || log.getInt(4) != VERSION) {
+            throw new IOException("not a leaderboard log: " + logFile);
+        }
+        generation = log.getLong(8);
+        if (generation < snapGeneration || (generation == snapGeneration && snapCovered < 0)) {
+            // a snapshot that covers the whole log
+            startLog(log.limit(), snapGeneration + 1);
+            return;
+        }
+        // compaction finished the snapshot but crashed before starting the next log generation:
+        // only what came after the snapshot's end is new
+        replayLog(counts, generation == snapGeneration ? snapCovered : LOG_HEADER);
+    }
+
+    private void replayLog(Map<String, Integer> counts, int from) {
+        int pos = from;
+        while (pos + 4 <= log.limit()) {
+            int len = log.getInt(pos);
+            if (len <= 0 || len > MAX_NAME_BYTES || pos + 8 + len > log.limit()) break;
+
+            byte[] name = new byte[len];
+            log.get(pos + 4, name);
+            crc.reset();
+            crc.update(name);
+            if (log.getInt(pos + 4 + len) != (int) crc.getValue()) break;
+
+            counts.merge(new String(name, StandardCharsets.UTF_8), 1, Integer::sum);
+            pos += 8 + len;
+        }
+
+        // clear whatever a crash left behind so it can never be read as a record later
+        for (int i = pos; i < log.limit() && i < pos + 8 + MAX_NAME_BYTES; i++) log.put(i, (byte) 0);
+        log.position(pos);
+        syncedEnd = LOG_HEADER;
+    }
+
+    void append(String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES) throw new IOException("bad player name length");
+        int size = 8 + bytes.length;
+        if (log.remaining() < size + 4) remap(log.position() + size + 4);
+
+        int pos = log.position();
+        crc.reset();
+        crc.update(bytes);
+        log.put(pos + 4, bytes);
+        log.putInt(pos + 4 + bytes.length, (int) crc.getValue());
+        // length last: until it lands, the record reads as end-of-log
+        log.putInt(pos, bytes.length);
+        log.position(pos + size);
+    }
+
+    // Records appended since the last call, to be forced to disk by the returned task (null if
+    // there are none). The task may run without the caller's lock, while appends go on.
+    Runnable takeUnsynced() {
+        int from = syncedEnd;
+        int to = log.position();
+        if (to <= from) return null;
+        syncedEnd = to;
+        MappedByteBuffer mapped = log;
+        return () -> mapped.force(from, to - from);
+    }
+
+    boolean needsCompaction() {
+        return log.position() >= COMPACT_BYTES;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    // End of the records appended so far.
+    int getEnd() {
+        return log.position();
+    }
+
+    // Writes every count to a new snapshot and starts a new log generation.
+    void compact(Map<String, Integer> counts) throws IOException {
+        int end = getEnd();
+        writeSnapshot(counts, generation, end);
+        restartLog(end);
+    }
+
+    // Writes counts as the snapshot of generation's log up to coveredEnd. Touches only the snapshot
+    // file, so it can run while appends go on.
+    void writeSnapshot(Map<String, Integer> counts, long generation, int coveredEnd) throws IOException {
+        Path tmp = snapFile.resolveSibling(snapFile.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(SNAP_MAGIC);
+            out.writeInt(SNAP_VERSION);
+            out.writeLong(generation);
+            out.writeInt(coveredEnd);
+            out.writeInt(counts.size());
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeInt(e.getValue());
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(tmp, snapFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Starts the next generation with the records appended after coveredEnd, once the snapshot
+    // covering the rest is on disk. Skipped (the log just grows until the next compaction) when
+    // the moved records would overwrite ones a replay from coveredEnd still needs.
+    void restartLog(int coveredEnd) {
+        int end = log.position();
+        int tail = end - coveredEnd;
+        if (LOG_HEADER + tail + 4 > coveredEnd) return;
+
+        byte[] carried = new byte[tail];
+        log.get(coveredEnd, carried);
+        log.put(LOG_HEADER, carried);
+        log.putInt(LOG_HEADER + tail, 0);
+        log.force(LOG_HEADER, tail + 4);
+        log.putLong(8, generation + 1);
+        log.force(0, LOG_HEADER);
+        generation++;
+
+        for (int i = LOG_HEADER + tail + 4; i < end; i++) log.put(i, (byte) 0);
+        log.force(LOG_HEADER + tail, end - LOG_HEADER - tail);
+        log.position(LOG_HEADER + tail);
+        syncedEnd = LOG_HEADER + tail;
+    }
+
+    private long readSnapshot(Map<String, Integer> counts) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapFile)), new CRC32());
+             DataInputStream in = new DataInputStream(checked)) {
+            int version = in.readInt() == SNAP_MAGIC ? in.readInt() : -1;
+            if (version != VERSION && version != SNAP_VERSION) {
+                throw new IOException("not a leaderboard snapshot: " + snapFile);
+            }
+            long snapGeneration = in.readLong();
+            snapCovered = version == SNAP_VERSION ? in.readInt() : -1;
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) counts.put(in.readUTF(), in.readInt());
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) throw new IOException("leaderboard snapshot is corrupt: " + snapFile);
+            return snapGeneration;
+        }
+    }
+
+    // Clears records up to usedEnd, then writes the header. Until the header lands, the old
+    // generation (already covered by the snapshot, or empty) is what a reader sees.
+    private void startLog(int usedEnd, long newGeneration) {
+        for (int i = LOG_HEADER; i < usedEnd; i++) log.put(i, (byte) 0);
+        log.force();
+        log.putInt(0, LOG_MAGIC);
+        log.putInt(4, VERSION);
+        log.putLong(8, newGeneration);
+        log.force(0, LOG_HEADER);
+        generation = newGeneration;
+        log.position(LOG_HEADER);
+        syncedEnd = LOG_HEADER;
+    }
+
+    private void openLog() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), MAP_CHUNK);
+        log = channel.map(FileChannel.MapMode.READ_WRITE, 0, roundUp(size));
+    }
+
+    private void remap(long needed) throws IOException {
+        int pos = log.position();
+        log = channel.map(FileChannel.MapMode.READ_WRITE, 0, roundUp(needed));
+        log.position(pos);
+    }
+
+    private static long roundUp(long size) {
+        return (size + MAP_CHUNK - 1) / MAP_CHUNK * MAP_CHUNK;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (log != null) log.force();
+        } finally {
+            if (channel != null) channel.close();
+            channel = null;
+            log = null;
+        }
+    }
+}
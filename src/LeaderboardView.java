@@ -0,0 +1,91 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+
+// Top-N table that listens to a Leaderboard. Its labels are created once; a win only rewrites the
+// rows whose text changed, and turns without a winner never touch the panel.
+public class LeaderboardView extends JPanel implements Leaderboard.Listener {
+
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Font ROW_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    private final Leaderboard leaderboard;
+    private final AssetCache assets = AssetCache.get();
+    // resource path, scaled once per panel size
+    private final String background;
+    private final JLabel emptyLabel = new JLabel("Belum ada kemenangan.", SwingConstants.CENTER);
+    private final JLabel[] rows;
+    private volatile boolean refreshPending;
+
+    public LeaderboardView(Leaderboard leaderboard, int rowCount, String background) {
+        this.leaderboard = leaderboard;
+        this.background = background;
+        setOpaque(false);
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JLabel title = new JLabel("leader board", SwingConstants.CENTER);
+        title.setFont(TITLE_FONT);
+        title.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(title);
+        add(Box.createVerticalStrut(8));
+
+        emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        add(emptyLabel);
+        rows = new JLabel[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new JLabel();
+            rows[i].setFont(ROW_FONT);
+            rows[i].setAlignmentX(Component.CENTER_ALIGNMENT);
+            rows[i].setVisible(false);
+            add(rows[i]);
+        }
+
+        refresh();
+        leaderboard.addListener(this);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Image bg = background != null ? assets.scaled(background, getWidth(), getHeight()) : null;
+        if (bg != null) g.drawImage(bg, 0, 0, null);
+    }
+
+    @Override
+    public void leaderboardChanged(String name, int wins, boolean topChanged) {
+        if (!topChanged) return;
+        if (SwingUtilities.isEventDispatchThread()) {
+            refresh();
+        } else if (!refreshPending) {
+            // a burst of wins from another thread collapses into one refresh
+            refreshPending = true;
+            SwingUtilities.invokeLater(() -> {
+                refreshPending = false;
+                refresh();
+            });
+        }
+    }
+
+    private void refresh() {
+        List<Map.Entry<String, Integer>> top = leaderboard.top(rows.length);
+        setVisibleIfChanged(emptyLabel, top.isEmpty());
+        for (int i = 0; i < rows.length; i++) {
+            boolean used = i < top.size();
+            if (used) {
+                String text = top.get(i).getKey() + " — " + top.get(i).getValue() + " win";
+                if (!text.equals(rows[i].getText())) rows[i].setText(text);
+            }
+            setVisibleIfChanged(rows[i], used);
+        }
+    }
+
+    private static void setVisibleIfChanged(JComponent c, boolean visible) {
+        if (c.isVisible() != visible) c.setVisible(visible);
+    }
+
+    public void detach() {
+        leaderboard.removeListener(this);
+    }
+}
@@ -0,0 +1,341 @@
+import java.util.*;
+
+public class MarkovSolver {
+
+    private static final double P_GREEN = 0.8;
+    private static final double[] WEIGHT = new double[12];
+    private static final double PRUNE = 1e-18;
+    private static final double TOLERANCE = 1e-12;
+
+    static {
+        for (int k = 0; k < 12; k++) WEIGHT[k] = (k < 6 ? P_GREEN : 1 - P_GREEN) / 6;
+    }
+
+    private final int nodeCount;
+    private final int[] next;
+    private final BoardLayout board;
+
+    // LU factors of (I - Q) over the transient tiles 1..nodeCount-1. Q only reaches 6 tiles back,
+    // so L stays inside the band; U has the band plus a few far columns for ladder targets.
+    private final double[] lower;
+    private final double[] diag;
+    private final double[] upper;
+    private final int[][] farCol;
+    private final double[][] farVal;
+
+    public MarkovSolver(GameLogic game) {
+        this(game.getLayout());
+    }
+
+    public MarkovSolver(BoardLayout board) {
+        this.nodeCount = board.getNodeCount();
+        this.next = board.moveTable();
+        this.board = board;
+
+        lower = new double[nodeCount * 6];
+        diag = new double[nodeCount];
+        upper = new double[nodeCount * 6];
+        farCol = new int[nodeCount][];
+        farVal = new double[nodeCount][];
+        factor();
+    }
+
+    private void factor() {
+        double[] band = new double[13]; // columns r-6 .. r+6
+        int[] cols = new int[16];
+        double[] vals = new double[16];
+
+        for (int r = 1; r < nodeCount; r++) {
+            Arrays.fill(band, 0);
+            int farCount = 0;
+            band[6] = 1;
+            for (int k = 0; k < 12; k++) {
+                int t = next[r * 12 + k];
+                if (t == nodeCount) continue;
+                if (t - r <= 6) band[t - r + 6] -= WEIGHT[k];
+                else {
+                    if (farCount == cols.length) {
+                        cols = Arrays.copyOf(cols, farCount * 2);
+                        vals = Arrays.copyOf(vals, farCount * 2);
+                    }
+                    farCount = addFar(cols, vals, farCount, t, -WEIGHT[k]);
+                }
+            }
+
+            for (int c = Math.max(1, r - 6); c < r; c++) {
+                double a = band[c - r + 6];
+                if (a == 0) continue;
+                double mult = a / diag[c];
+                lower[r * 6 + (c - r + 6)] = mult;
+                band[c - r + 6] = 0;
+                for (int j = 1; j <= 6 && c + j < nodeCount; j++) {
+                    band[c + j - r + 6] -= mult * upper[c * 6 + j - 1];
+                }
+                int[] fc = farCol[c];
+                if (fc == null) continue;
+                for (int i = 0; i < fc.length; i++) {
+                    double v = -mult * farVal[c][i];
+                    if (fc[i] - r <= 6) band[fc[i] - r + 6] += v;
+                    else {
+                        if (farCount == cols.length) {
+                            cols = Arrays.copyOf(cols, farCount * 2);
+                            vals = Arrays.copyOf(vals, farCount * 2);
+                        }
+                        farCount = addFar(cols, vals, farCount, fc[i], v);
+                    }
+                }
+            }
+
+            diag[r] = band[6];
+            for (int j = 1; j <= 6; j++) upper[r * 6 + j - 1] = band[6 + j];
+            if (farCount > 0) {
+                farCol[r] = Arrays.copyOf(cols, farCount);
+                farVal[r] = Arrays.copyOf(vals, farCount);
+            }
+        }
+    }
+
+    private static int addFar(int[] cols, double[] vals, int count, int col, double v) {
+        for (int i = 0; i < count; i++) {
+            if (cols[i] == col) {
+                vals[i] += v;
+                return count;
+            }
+        }
+        cols[count] = col;
+        vals[count] = v;
+        return count + 1;
+    }
+
+    // Expected number of rolls to reach the finish from every tile (index = tile).
+    public double[] solveExpectedRolls() {
+        double[] e = new double[nodeCount + 1];
+        for (int r = 1; r < nodeCount; r++) {
+            double y = 1;
+            for (int j = 0; j < 6; j++) {
+                int c = r - 6 + j;
+                if (c >= 1) y -= lower[r * 6 + j] * e[c];
+            }
+            e[r] = y;
+        }
+        for (int r = nodeCount - 1; r >= 1; r--) {
+            double sum = e[r];
+            for (int j = 1; j <= 6 && r + j < nodeCount; j++) sum -= upper[r * 6 + j - 1] * e[r + j];
+            int[] fc = farCol[r];
+            if (fc != null) {
+                for (int i = 0; i < fc.length; i++) sum -= farVal[r][i] * e[fc[i]];
+            }
+            e[r] = sum / diag[r];
+        }
+        return e;
+    }
+
+    // Expected number of times a single token starting on tile 1 lands on each tile,
+    // the finish included. Solves x (I - Q) = e1 with the same factors.
+    public double[] solveExpectedLandings() {
+        double[] acc = new double[nodeCount + 1];
+        double[] z = new double[nodeCount + 1];
+        acc[1] = 1;
+        for (int c = 1; c < nodeCount; c++) {
+            double zc = acc[c] / diag[c];
+            z[c] = zc;
+            if (zc == 0) continue;
+            for (int j = 1; j <= 6 && c + j < nodeCount; j++) acc[c + j] -= zc * upper[c * 6 + j - 1];
+            int[] fc = farCol[c];
+            if (fc != null) {
+                for (int i = 0; i < fc.length; i++) acc[fc[i]] -= zc * farVal[c][i];
+            }
+        }
+
+        double[] x = new double[nodeCount + 1];
+        Arrays.fill(acc, 0);
+        for (int r = nodeCount - 1; r >= 1; r--) {
+            double xr = z[r] - acc[r];
+            x[r] = xr;
+            for (int j = 0; j < 6; j++) {
+                int c = r - 6 + j;
+                if (c >= 1) acc[c] += xr * lower[r * 6 + j];
+            }
+        }
+        x[1] -= 1; // the start tile is occupied, not landed on
+        x[nodeCount] = 1;
+        return x;
+    }
+
+    // P(finish on roll t), t = 1..maxRolls, starting from tile 1.
+    public double[] rollDistribution(int maxRolls) {
+        double[] pmf = new double[maxRolls + 1];
+        double[] cur = new double[nodeCount + 1];
+        double[] nxt = new double[nodeCount + 1];
+        cur[1] = 1;
+        int lo = 1, hi = 1;
+        double remaining = 1;
+
+        // only the occupied window is walked; negligible masses are dropped
+        for (int t = 1; t <= maxRolls && lo <= hi && remaining > TOLERANCE; t++) {
+            int nlo = nodeCount, nhi = 0;
+            for (int p = lo; p <= hi; p++) {
+                double m = cur[p];
+                if (m == 0) continue;
+                cur[p] = 0;
+                if (m < PRUNE) continue;
+                int base = p * 12;
+                for (int k = 0; k < 12; k++) {
+                    int q = next[base + k];
+                    nxt[q] += m * WEIGHT[k];
+                    if (q < nlo) nlo = q;
+                    if (q > nhi && q < nodeCount) nhi = q;
+                }
+            }
+            pmf[t] = nxt[nodeCount];
+            remaining -= pmf[t];
+            nxt[nodeCount] = 0;
+            double[] swap = cur;
+            cur = nxt;
+            nxt = swap;
+            lo = nlo;
+            hi = nhi;
+        }
+        return pmf;
+    }
+
+    public double[] slotDistribution(int maxSlots) {
+        return slotDistribution(1, 0, maxSlots);
+    }
+
+    // P(finish during the player's s-th turn in the rotation), s = 1..maxSlots, for a token on
+    // startTile. A slot is one roll plus the extra rolls earned from star tiles; extraTurns is the
+    // extra-turn count the token has left before its next roll (0 or 1, see GameLogic.advanceTurn).
+    public double[] slotDistribution(int startTile, int extraTurns, int maxSlots) {
+        double[] pmf = new double[maxSlots + 1];
+        double[] v = new double[nodeCount + 1];
+        double[] b0 = new double[nodeCount + 1];
+        double[] b1 = new double[nodeCount + 1];
+        double[] n0 = new double[nodeCount + 1];
+        double[] n1 = new double[nodeCount + 1];
+        if (startTile >= nodeCount) {
+            pmf[0] = 1;
+            return pmf;
+        }
+        int vlo = startTile, vhi = startTile;
+        double remaining = 1;
+        if (extraTurns > 0) b1[startTile] = 1;
+        else v[startTile] = 1;
+
+        for (int s = 1; s <= maxSlots && vlo <= vhi && remaining > TOLERANCE; s++) {
+            // b0: rolls with no extra turn left after them, b1: rolls that still have one extra turn
+            double[] swap = b0; b0 = v; v = swap;
+            int blo = vlo, bhi = vhi;
+            vlo = nodeCount;
+            vhi = 0;
+            double finished = 0;
+
+            while (blo <= bhi) {
+                int nlo = nodeCount, nhi = 0;
+                for (int p = blo; p <= bhi; p++) {
+                    double m0 = b0[p], m1 = b1[p];
+                    if (m0 == 0 && m1 == 0) continue;
+                    b0[p] = 0;
+                    b1[p] = 0;
+                    if (m0 + m1 < PRUNE) continue;
+                    int base = p * 12;
+                    for (int k = 0; k < 12; k++) {
+                        int q = next[base + k];
+                        double w = WEIGHT[k];
+                        if (q == nodeCount) {
+                            finished += (m0 + m1) * w;
+                            continue;
+                        }
+                        if (board.isStar(q)) {
+                            n1[q] += (m0 + m1) * w;
+                        } else {
+                            if (m0 != 0) {
+                                v[q] += m0 * w;
+                                if (q < vlo) vlo = q;
+                                if (q > vhi) vhi = q;
+                            }
+                            if (m1 == 0) continue;
+                            n0[q] += m1 * w;
+                        }
+                        if (q < nlo) nlo = q;
+                        if (q > nhi) nhi = q;
+                    }
+                }
+                swap = b0; b0 = n0; n0 = swap;
+                swap = b1; b1 = n1; n1 = swap;
+                blo = nlo;
+                bhi = nhi;
+            }
+            pmf[s] = finished;
+            remaining -= finished;
+        }
+        return pmf;
+    }
+
+    // Win probability per seat (seat 0 rolls first) for identical players starting on tile 1.
+    public double[] winProbabilities(int players, int maxSlots) {
+        return winProbabilities(new int[players], 0, 0, maxSlots);
+    }
+
+    // Win probability per seat from a running game: positions per seat (0 is read as tile 1),
+    // the seat about to roll and its remaining extra turns. Tokens never interact, so the k-th
+    // seat to roll wins in slot s if it finishes then, every seat rolling before it is still
+    // running after slot s and every seat rolling after it is still running after slot s - 1.
+    public double[] winProbabilities(int[] positions, int currentSeat, int currentExtraTurns, int maxSlots) {
+        int players = positions.length;
+        double[][] pmf = new double[players][];
+        Map<Integer, double[]> byStart = new HashMap<>();
+        for (int i = 0; i < players; i++) {
+            int seat = (currentSeat + i) % players;
+            int pos = Math.max(1, positions[seat]);
+            int extra = i == 0 ? Math.min(currentExtraTurns, 1) : 0;
+            pmf[i] = byStart.computeIfAbsent(pos * 2 + extra, key -> slotDistribution(key / 2, key % 2, maxSlots));
+        }
+
+        double[] win = new double[players];
+        double[] survivedPrev = new double[players];
+        double[] survived = new double[players];
+        Arrays.fill(survivedPrev, 1);
+        for (int s = 1; s <= maxSlots; s++) {
+            for (int i = 0; i < players; i++) survived[i] = survivedPrev[i] - pmf[i][s];
+            for (int i = 0; i < players; i++) {
+                if (pmf[i][s] == 0) continue;
+                double p = pmf[i][s];
+                for (int j = 0; j < players; j++) {
+                    if (j < i) p *= survived[j];
+                    else if (j > i) p *= survivedPrev[j];
+                }
+                win[(currentSeat + i) % players] += p;
+            }
+            double[] swap = survivedPrev;
+            survivedPrev = survived;
+            survived = swap;
+        }
+        return win;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= players; i++) names.add("Player " + i);
+        MarkovSolver solver = new MarkovSolver(new GameLogic(nodeCount, names));
+
+        long start = System.nanoTime();
+        double[] expected = solver.solveExpectedRolls();
+        long solved = System.nanoTime();
+        double[] win = solver.winProbabilities(players, nodeCount * 4);
+        long done = System.nanoTime();
+
+        System.out.printf("expected rolls from tile 1: %.4f (%.2f ms)%n", expected[1], (solved - start) / 1e6);
+        for (int i = 0; i < players; i++) {
+            System.out.printf("seat %d win probability: %.4f%n", i + 1, win[i]);
+        }
+        System.out.printf("win probabilities in %.2f ms%n", (done - solved) / 1e6);
+    }
+}
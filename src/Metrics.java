@@ -0,0 +1,337 @@
+import javax.management.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide counters and latency histograms. Off unless -Drolldice.metrics is set; ENABLED is a
+// static final, so a guarded call site (if (Metrics.ENABLED) ...) is compiled out when it is off.
+// When on, the values are published as the JMX bean rolldice:type=Metrics and written every
+// -Drolldice.metrics.interval seconds (default 10): as CSV rows to -Drolldice.metrics.csv when
+// given, otherwise as a log line per metric on stderr. Each row covers the last interval only.
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("rolldice.metrics");
+
+    private static final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    public static final Counter TURNS = counter("turns");
+    public static final Counter GAMES = counter("games");
+    public static final Counter FRAMES = counter("frames");
+    public static final Counter FRAMES_DROPPED = counter("frames.dropped");
+    public static final Counter EVENTS_WRITTEN = counter("events.written");
+    public static final Counter EVENTS_DROPPED = counter("events.dropped");
+    public static final Histogram PAINT_NANOS = histogram("paint.ns");
+    public static final Histogram EDT_DELAY_NANOS = histogram("edt.delay.ns");
+    public static final Histogram TURN_NANOS = histogram("turn.ns");
+    public static final Histogram ALLOC_PER_TURN = histogram("alloc.bytes.per.turn");
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static ScheduledExecutorService reporter;
+
+    static {
+        if (ENABLED) start();
+    }
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    // Bytes allocated so far by the calling thread, or -1 where the JVM cannot tell.
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    // Measures how long the event queue takes to run a task, ten times a second.
+    public static void probeEventQueue() {
+        if (!ENABLED) return;
+        reporter.scheduleAtFixedRate(() -> {
+            long posted = System.nanoTime();
+            java.awt.EventQueue.invokeLater(() -> EDT_DELAY_NANOS.record(System.nanoTime() - posted));
+        }, 100, 100, TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized void start() {
+        if (reporter != null) return;
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName("rolldice:type=Metrics"));
+        } catch (JMException e) {
+            System.err.println("Metrics not published over JMX: " + e.getMessage());
+        }
+
+        long seconds = Long.getLong("rolldice.metrics.interval", 10);
+        Report report = new Report(System.getProperty("rolldice.metrics.csv"));
+        reporter.scheduleAtFixedRate(report::write, seconds, seconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(report::write, "metrics-final"));
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ? threads : null;
+    }
+
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long n) {
+            value.add(n);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    // Log-linear buckets like HdrHistogram with 5 sub-bucket bits: exact below 64, then 32 buckets
+    // per power of two, so a reported value is within about 3% of the recorded one. Recording is one
+    // atomic increment plus a max update that only writes on a new maximum.
+    public static final class Histogram {
+        private static final int LINEAR = 64;
+        private static final int SUB_BITS = 5;
+        private static final int BUCKETS = LINEAR + (63 - 6) * (1 << SUB_BITS);
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long value) {
+            if (value < 0) value = 0;
+            counts.incrementAndGet(bucket(value));
+            sum.add(value);
+            long m = max.get();
+            while (value > m && !max.compareAndSet(m, value)) m = max.get();
+        }
+
+        static int bucket(long value) {
+            if (value < LINEAR) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+            return LINEAR + (exponent - 6) * (1 << SUB_BITS) + sub;
+        }
+
+        // Middle of the bucket's value range.
+        static long valueOf(int bucket) {
+            if (bucket < LINEAR) return bucket;
+            int exponent = (bucket - LINEAR) / (1 << SUB_BITS) + 6;
+            int sub = (bucket - LINEAR) % (1 << SUB_BITS);
+            long width = 1L << (exponent - SUB_BITS);
+            return (1L << exponent) + sub * width + width / 2;
+        }
+
+        public Snapshot snapshot() {
+            long[] c = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) c[i] = counts.get(i);
+            return new Snapshot(c, sum.sum(), max.get());
+        }
+    }
+
+    // Immutable copy of a histogram; minus() gives what was recorded between two copies.
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long sum;
+        private final long max;
+        private final long count;
+
+        Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            this.sum = sum;
+            this.max = max;
+            long n = 0;
+            for (long c : counts) n += c;
+            this.count = n;
+        }
+
+        // The maximum is the lifetime one; intervals report the highest bucket they touched.
+        public Snapshot minus(Snapshot earlier) {
+            long[] c = new long[counts.length];
+            int top = -1;
+            for (int i = 0; i < c.length; i++) {
+                c[i] = counts[i] - earlier.counts[i];
+                if (c[i] > 0) top = i;
+            }
+            return new Snapshot(c, sum - earlier.sum, top < 0 ? 0 : Math.min(max, Histogram.valueOf(top)));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long percentile(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(Histogram.valueOf(i), max);
+            }
+            return max;
+        }
+    }
+
+    // One interval's rows. Runs on the metrics thread (and once more at exit).
+    private static final class Report {
+        private final String csvPath;
+        private final Map<String, Long> lastCounts = new HashMap<>();
+        private final Map<String, Snapshot> lastSnapshots = new HashMap<>();
+        private long lastNanos = System.nanoTime();
+
+        Report(String csvPath) {
+            this.csvPath = csvPath;
+            if (csvPath != null && !new File(csvPath).exists()) {
+                append("time,metric,count,per_second,mean,p50,p90,p99,max");
+            }
+        }
+
+        synchronized void write() {
+            long now = System.nanoTime();
+            double seconds = Math.max(1e-9, (now - lastNanos) / 1e9);
+            lastNanos = now;
+            long time = System.currentTimeMillis();
+            StringBuilder rows = new StringBuilder();
+
+            for (Map.Entry<String, Counter> e : counters.entrySet()) {
+                long value = e.getValue().get();
+                long delta = value - lastCounts.getOrDefault(e.getKey(), 0L);
+                lastCounts.put(e.getKey(), value);
+                row(rows, time, e.getKey(), value, delta / seconds, null);
+            }
+            for (Map.Entry<String, Histogram> e : histograms.entrySet()) {
+                Snapshot total = e.getValue().snapshot();
+                Snapshot last = lastSnapshots.put(e.getKey(), total);
+                Snapshot interval = last == null ? total : total.minus(last);
+                if (interval.getCount() == 0) continue;
+                row(rows, time, e.getKey(), interval.getCount(), interval.getCount() / seconds, interval);
+            }
+            if (csvPath != null) append(rows.toString().trim());
+            else System.err.print(rows);
+        }
+
+        private void row(StringBuilder rows, long time, String name, long count, double rate, Snapshot h) {
+            if (csvPath != null) {
+                rows.append(time).append(',').append(name).append(',').append(count).append(',')
+                        .append(String.format(Locale.ROOT, "%.1f", rate));
+                if (h != null) {
+                    rows.append(String.format(Locale.ROOT, ",%.1f,%d,%d,%d,%d", h.getMean(),
+                            h.percentile(50), h.percentile(90), h.percentile(99), h.getMax()));
+                } else {
+                    rows.append(",,,,,");
+                }
+                rows.append('\n');
+            } else if (h == null) {
+                rows.append(String.format(Locale.ROOT, "[metrics] %-22s %,d (%,.1f/s)%n", name, count, rate));
+            } else {
+                rows.append(String.format(Locale.ROOT, "[metrics] %-22s n=%,d mean=%,.0f p50=%,d p90=%,d p99=%,d max=%,d%n",
+                        name, count, h.getMean(), h.percentile(50), h.percentile(90), h.percentile(99), h.getMax()));
+            }
+        }
+
+        private void append(String lines) {
+            if (lines.isEmpty()) return;
+            try (Writer out = new BufferedWriter(new FileWriter(csvPath, true))) {
+                out.write(lines);
+                out.write('\n');
+            } catch (IOException e) {
+                System.err.println("Metrics not written: " + e.getMessage());
+            }
+        }
+    }
+
+    // Counters by name; a histogram h shows up as h.count, h.mean, h.p50, h.p90, h.p99 and h.max
+    // (lifetime values).
+    private static final class Bean implements DynamicMBean {
+        private static final String[] STATS = {"count", "mean", "p50", "p90", "p99", "max"};
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Counter c = counters.get(attribute);
+            if (c != null) return c.get();
+            int dot = attribute.lastIndexOf('.');
+            Histogram h = dot < 0 ? null : histograms.get(attribute.substring(0, dot));
+            if (h == null) throw new AttributeNotFoundException(attribute);
+            Snapshot s = h.snapshot();
+            switch (attribute.substring(dot + 1)) {
+                case "count": return s.getCount();
+                case "mean": return (long) s.getMean();
+                case "p50": return s.percentile(50);
+                case "p90": return s.percentile(90);
+                case "p99": return s.percentile(99);
+                case "max": return s.getMax();
+                default: throw new AttributeNotFoundException(attribute);
+            }
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String a : attributes) {
+                try {
+                    list.add(new Attribute(a, getAttribute(a)));
+                } catch (AttributeNotFoundException ignored) {
+                    // left out, as the DynamicMBean contract allows
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("read only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        // Rebuilt on every call, so metrics created later are listed too.
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : counters.keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", "counter", true, false, false));
+            }
+            for (String name : histograms.keySet()) {
+                for (String stat : STATS) {
+                    attributes.add(new MBeanAttributeInfo(name + "." + stat, "long", stat, true, false, false));
+                }
+            }
+            return new MBeanInfo(Metrics.class.getName(), "RollDice runtime metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.Arrays;
+
+// Tiles a token passes through on one move, start included. Owned and reused by the caller:
+// GameLogic.moveCurrentPlayer clears it and writes into it, so a move allocates nothing once the
+// buffer has grown to the longest path seen.
+public final class MovePath {
+
+    private int[] tiles;
+    private int length;
+
+    public MovePath() {
+        this(16);
+    }
+
+    public MovePath(int capacity) {
+        tiles = new int[Math.max(1, capacity)];
+    }
+
+    public void clear() {
+        length = 0;
+    }
+
+    public void add(int tile) {
+        if (length == tiles.length) tiles = Arrays.copyOf(tiles, length * 2);
+        tiles[length++] = tile;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int get(int i) {
+        if (i >= length) throw new IndexOutOfBoundsException(i + " >= " + length);
+        return tiles[i];
+    }
+
+    public int first() {
+        return get(0);
+    }
+
+    public int last() {
+        return get(length - 1);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(tiles, length);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class ParallelSimulator {
+
+    // Games are cut into fixed chunks, each with its own split RNG stream,
+    // so the results depend on the master seed only and not on the thread count.
+    private static final int CHUNK_GAMES = 1 << 14;
+
+    private final GameSimulator template;
+
+    public ParallelSimulator(GameSimulator template) {
+        this.template = template;
+    }
+
+    public SimulationStats run(long games, long masterSeed) {
+        int chunks = (int) ((games + CHUNK_GAMES - 1) / CHUNK_GAMES);
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        long[] seeds = new long[chunks];
+        for (int c = 0; c < chunks; c++) seeds[c] = master.split().nextLong();
+
+        return IntStream.range(0, chunks).parallel().collect(
+                () -> {
+                    SimulationStats stats = new SimulationStats(template.getPlayerCount(), template.getNodeCount());
+                    stats.simulator = new GameSimulator(template, masterSeed);
+                    return stats;
+                },
+                (stats, c) -> {
+                    // one simulator per accumulator; each chunk only brings its own random stream
+                    GameSimulator sim = stats.simulator;
+                    SplittableRandom rand = new SplittableRandom(seeds[c]);
+                    long count = Math.min(CHUNK_GAMES, games - (long) c * CHUNK_GAMES);
+                    if (Metrics.ENABLED) Metrics.GAMES.add(count);
+                    for (long i = 0; i < count; i++) {
+                        int winner = sim.playGame(rand, stats.ladderUse);
+                        stats.record(winner, sim.getLastGameTurns());
+                    }
+                },
+                SimulationStats::merge);
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 50_000_000L;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) names.add("Player " + i);
+        GameLogic game = new GameLogic(100, names);
+        ParallelSimulator runner = new ParallelSimulator(new GameSimulator(game, seed));
+
+        runner.run(Math.min(games, 2_000_000L), seed); // warm-up
+
+        long start = System.nanoTime();
+        SimulationStats stats = runner.run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games on %d cores in %.3f s -> %.0f games/sec%n",
+                games, Runtime.getRuntime().availableProcessors(), seconds, games / seconds);
+        for (int i = 0; i < stats.getPlayerCount(); i++) {
+            System.out.printf("seat %d win rate: %.4f%n", i + 1, stats.getWinRate(i));
+        }
+        System.out.printf("turns: mean %.2f, p50 %d, p90 %d, p99 %d%n", stats.getMeanTurns(),
+                stats.getTurnsPercentile(50), stats.getTurnsPercentile(90), stats.getTurnsPercentile(99));
+        for (Map.Entry<Integer, Integer> e : game.getLadders().entrySet()) {
+            System.out.printf("ladder %d -> %d: %.3f climbs/game%n", e.getKey(), e.getValue(),
+                    (double) stats.getLadderUse(e.getKey()) / stats.getGames());
+        }
+    }
+}
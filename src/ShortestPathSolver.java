@@ -2,46 +2,105 @@ import java.util.*;
 
 public class ShortestPathSolver {
 
-    public static List<Integer> getShortestPath(int start, int goal, int nodeCount, Map<Integer, Integer> ladders) {
-        Map<Integer, Integer> parent = new HashMap<>();
-        Queue<Integer> queue = new LinkedList<>();
-        queue.add(start);
-        parent.put(start, null);
+    private final int nodeCount;
+    private final BoardLayout board;
 
-        while (!queue.isEmpty()) {
-            int cur = queue.poll();
-            if (cur == goal) break;
+    // per-query scratch, reused so a query allocates only its result
+    private final int[] parent;
+    private final int[] queue;
 
-            List<Integer> neighbors = new ArrayList<>();
+    // minRolls[p]: fewest green rolls from p to the finish, bestDice[p]: a dice value achieving it
+    private final int[] minRolls;
+    private final byte[] bestDice;
 
-            if (cur + 1 <= nodeCount) {
-                neighbors.add(cur + 1);
-            }
+    public ShortestPathSolver(BoardLayout board) {
+        this.nodeCount = board.getNodeCount();
+        this.board = board;
 
-            if (ladders.containsKey(cur)) {
-                neighbors.add(ladders.get(cur));
-            }
+        this.parent = new int[nodeCount + 1];
+        this.queue = new int[nodeCount + 1];
+        this.minRolls = new int[nodeCount + 1];
+        this.bestDice = new byte[nodeCount + 1];
+        buildDistanceTable();
+    }
+
+    public static List<Integer> getShortestPath(int start, int goal, int nodeCount, Map<Integer, Integer> ladders) {
+        BoardLayout board = new BoardLayout(nodeCount, ladders, Collections.emptyList());
+        int[] path = new ShortestPathSolver(board).shortestPath(start, goal);
+        List<Integer> result = new ArrayList<>(path.length);
+        for (int p : path) result.add(p);
+        return result;
+    }
+
+    // Tile reached by rolling dice on a green move from pos: clamped to the finish, ladder taken.
+    public int target(int pos, int dice) {
+        return board.jumpTarget(Math.min(pos + dice, nodeCount));
+    }
 
-            for (int nb : neighbors) {
-                if (!parent.containsKey(nb)) {
-                    parent.put(nb, cur);
-                    queue.add(nb);
+    // Every green move goes forward, so one pass from the finish down fills the table.
+    private void buildDistanceTable() {
+        minRolls[nodeCount] = 0;
+        for (int p = nodeCount - 1; p >= 1; p--) {
+            int best = Integer.MAX_VALUE;
+            for (int d = 6; d >= 1; d--) {
+                int r = minRolls[target(p, d)];
+                if (r < best) {
+                    best = r;
+                    bestDice[p] = (byte) d;
                 }
             }
+            minRolls[p] = best + 1;
         }
+    }
 
-        List<Integer> path = new ArrayList<>();
-        Integer cur = goal;
-        while (cur != null) {
-            path.add(0, cur);
-            cur = parent.get(cur);
-        }
+    public int getMinRollsToFinish(int pos) {
+        return minRolls[Math.max(1, Math.min(pos, nodeCount))];
+    }
 
-        if (path.isEmpty() || path.get(0) != start) {
-            path.clear();
-            path.add(start);
+    public int getBestDice(int pos) {
+        return bestDice[Math.max(1, Math.min(pos, nodeCount))];
+    }
+
+    public int[] getMinRollsTable() {
+        return minRolls.clone();
+    }
+
+    // Tiles landed on after each roll from start to goal, start included; {start} if goal is unreachable.
+    public int[] shortestPath(int start, int goal) {
+        if (start < 1 || start > nodeCount || goal < 1 || goal > nodeCount) return new int[]{start};
+
+        Arrays.fill(parent, 0);
+        parent[start] = start;
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        boolean found = start == goal;
+
+        while (head != tail && !found) {
+            int cur = queue[head++];
+            if (head == queue.length) head = 0;
+            for (int d = 1; d <= 6; d++) {
+                int nb = target(cur, d);
+                if (parent[nb] != 0) continue;
+                parent[nb] = cur;
+                if (nb == goal) {
+                    found = true;
+                    break;
+                }
+                queue[tail++] = nb;
+                if (tail == queue.length) tail = 0;
+            }
         }
 
+        if (!found) return new int[]{start};
+
+        int length = 1;
+        for (int cur = goal; cur != start; cur = parent[cur]) length++;
+        int[] path = new int[length];
+        for (int cur = goal, i = length - 1; i >= 0; cur = parent[cur], i--) path[i] = cur;
         return path;
     }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
 }
@@ -0,0 +1,88 @@
+public class SimulationStats {
+
+    private static final int MAX_TRACKED_TURNS = 4096;
+
+    private final long[] wins;
+    private final long[] lengthHistogram = new long[MAX_TRACKED_TURNS + 1];
+    final long[] ladderUse;
+    // the simulator ParallelSimulator plays into this accumulator with; not part of the counts
+    GameSimulator simulator;
+    private long games = 0;
+    private long unfinished = 0;
+    private long turnSum = 0;
+
+    public SimulationStats(int playerCount, int nodeCount) {
+        this.wins = new long[playerCount];
+        this.ladderUse = new long[nodeCount + 1];
+    }
+
+    public void record(int winner, int turns) {
+        games++;
+        if (winner < 0) {
+            unfinished++;
+            return;
+        }
+        wins[winner]++;
+        turnSum += turns;
+        lengthHistogram[Math.min(turns, MAX_TRACKED_TURNS)]++;
+    }
+
+    // Counts are plain sums, so merging in any order gives the same result.
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        turnSum += other.turnSum;
+        for (int i = 0; i < wins.length; i++) wins[i] += other.wins[i];
+        for (int i = 0; i < lengthHistogram.length; i++) lengthHistogram[i] += other.lengthHistogram[i];
+        for (int i = 1; i < ladderUse.length; i++) ladderUse[i] += other.ladderUse[i];
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    public int getPlayerCount() {
+        return wins.length;
+    }
+
+    public double getMeanTurns() {
+        long finished = games - unfinished;
+        return finished == 0 ? 0 : (double) turnSum / finished;
+    }
+
+    // Game length (in turns) at the given percentile, 0..100. Lengths above 4096 share the last bucket.
+    public int getTurnsPercentile(double percentile) {
+        long finished = games - unfinished;
+        if (finished == 0) return 0;
+        long rank = (long) Math.ceil(percentile / 100.0 * finished);
+        long seen = 0;
+        for (int t = 0; t < lengthHistogram.length; t++) {
+            seen += lengthHistogram[t];
+            if (seen >= Math.max(rank, 1)) return t;
+        }
+        return MAX_TRACKED_TURNS;
+    }
+
+    public long getLadderUse(int from) {
+        return from > 0 && from < ladderUse.length ? ladderUse[from] : 0;
+    }
+
+    public long getTotalLadderUse() {
+        long total = 0;
+        for (int i = 1; i < ladderUse.length; i++) total += ladderUse[i];
+        return total;
+    }
+}
@@ -0,0 +1,173 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.*;
+import java.util.List;
+
+// Small images packed into one sheet, each already at the size it is drawn at, so painting a
+// sprite is a 1:1 copy of a sub-rectangle and nothing is scaled per frame. The sheet is created in
+// the GraphicsConfiguration's own pixel format; on screen the sprites are blitted from a
+// VolatileImage copy held in video memory when the pipeline accelerates it, otherwise (headless,
+// software pipeline, -Drolldice.accelerated=false, or an offscreen destination) from the sheet.
+public final class SpriteAtlas {
+
+    private static final boolean ACCELERATE =
+            !"false".equalsIgnoreCase(System.getProperty("rolldice.accelerated"));
+    private static final int PADDING = 1;
+
+    private final GraphicsConfiguration gc;
+    private final BufferedImage sheet;
+    private final int[] sx, sy, sw, sh;
+    private VolatileImage accelerated;
+
+    private SpriteAtlas(GraphicsConfiguration gc, BufferedImage sheet, int[] sx, int[] sy, int[] sw, int[] sh) {
+        this.gc = gc;
+        this.sheet = sheet;
+        this.sx = sx;
+        this.sy = sy;
+        this.sw = sw;
+        this.sh = sh;
+        if (gc != null && ACCELERATE) accelerated = createAccelerated();
+    }
+
+    public int getSpriteCount() {
+        return sx.length;
+    }
+
+    public int width(int sprite) {
+        return sw[sprite];
+    }
+
+    public int height(int sprite) {
+        return sh[sprite];
+    }
+
+    // True when on-screen draws come from video memory.
+    public boolean isAccelerated() {
+        return accelerated != null;
+    }
+
+    // Draws sprite with its top left corner at (x, y). A negative sprite (missing image) draws nothing.
+    public void draw(Graphics g, int sprite, int x, int y) {
+        if (sprite < 0) return;
+        int left = sx[sprite], top = sy[sprite], w = sw[sprite], h = sh[sprite];
+        Image src = source(g);
+        g.drawImage(src, x, y, x + w, y + h, left, top, left + w, top + h, null);
+        // lost between validate and the blit: this frame comes from the sheet, the next restores it
+        if (src == accelerated && accelerated.contentsLost()) {
+            g.drawImage(sheet, x, y, x + w, y + h, left, top, left + w, top + h, null);
+        }
+    }
+
+    // Sprite as a Swing icon, for labels and buttons.
+    public Icon icon(int sprite) {
+        return new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                draw(g, sprite, x, y);
+            }
+
+            @Override
+            public int getIconWidth() {
+                return sprite < 0 ? 0 : sw[sprite];
+            }
+
+            @Override
+            public int getIconHeight() {
+                return sprite < 0 ? 0 : sh[sprite];
+            }
+        };
+    }
+
+    // The volatile copy only helps when the destination is the screen (or its back buffer);
+    // into an image the sheet is the cheaper source, since Java2D reads it straight from memory.
+    private Image source(Graphics g) {
+        if (accelerated == null || !(g instanceof Graphics2D)) return sheet;
+        if (((Graphics2D) g).getDeviceConfiguration().getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN) {
+            return sheet;
+        }
+        int state = accelerated.validate(gc);
+        if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+            accelerated = createAccelerated();
+            return accelerated != null ? accelerated : sheet;
+        }
+        if (state == VolatileImage.IMAGE_RESTORED) copySheet(accelerated);
+        return accelerated;
+    }
+
+    private VolatileImage createAccelerated() {
+        VolatileImage v;
+        try {
+            v = gc.createCompatibleVolatileImage(sheet.getWidth(), sheet.getHeight(), Transparency.TRANSLUCENT);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (v == null || !v.getCapabilities().isAccelerated()) return null;
+        v.validate(gc);
+        copySheet(v);
+        return v;
+    }
+
+    private void copySheet(VolatileImage v) {
+        Graphics2D g2 = v.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(sheet, 0, 0, null);
+        g2.dispose();
+    }
+
+    // Collects sprites, then packs them into shelves (rows) tallest first.
+    public static final class Builder {
+        private final List<BufferedImage> images = new ArrayList<>();
+
+        // Returns the sprite's index, or -1 if image is null.
+        public int add(BufferedImage image) {
+            if (image == null) return -1;
+            images.add(image);
+            return images.size() - 1;
+        }
+
+        // gc null builds a plain ARGB sheet (headless, benchmarks, not yet displayed).
+        public SpriteAtlas build(GraphicsConfiguration gc) {
+            int n = images.size();
+            int[] sx = new int[n], sy = new int[n], sw = new int[n], sh = new int[n];
+            Integer[] order = new Integer[n];
+            long area = 0;
+            int widest = 1;
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+                sw[i] = images.get(i).getWidth();
+                sh[i] = images.get(i).getHeight();
+                area += (long) (sw[i] + PADDING) * (sh[i] + PADDING);
+                widest = Math.max(widest, sw[i] + PADDING);
+            }
+            Arrays.sort(order, (a, b) -> sh[b] - sh[a]);
+
+            // shelves about as wide as a square of the total area
+            int maxWidth = Math.max(widest, (int) Math.ceil(Math.sqrt(area)));
+            int x = 0, y = 0, shelf = 0, width = 1;
+            for (int i : order) {
+                if (x + sw[i] + PADDING > maxWidth) {
+                    x = 0;
+                    y += shelf;
+                    shelf = 0;
+                }
+                sx[i] = x;
+                sy[i] = y;
+                x += sw[i] + PADDING;
+                shelf = Math.max(shelf, sh[i] + PADDING);
+                width = Math.max(width, x);
+            }
+            int height = Math.max(1, y + shelf);
+
+            BufferedImage sheet = gc != null
+                    ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = sheet.createGraphics();
+            g2.setComposite(AlphaComposite.Src);
+            for (int i = 0; i < n; i++) g2.drawImage(images.get(i), sx[i], sy[i], null);
+            g2.dispose();
+            return new SpriteAtlas(gc, sheet, sx, sy, sw, sh);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.*;
+
+// Built-in strategies. All but the first read precomputed per-tile tables, so a decision is two
+// table lookups: the tile each direction lands on (BoardLayout.moveTable) and that tile's value.
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    public static List<Strategy> baselines(BoardLayout board) {
+        return List.of(alwaysForward(), furthestTile(board), fewestRolls(board), fewestTurns(board));
+    }
+
+    // Plays like the classic rules without the red rolls.
+    public static Strategy alwaysForward() {
+        return new Strategy() {
+            public String name() {
+                return "always-forward";
+            }
+
+            public boolean forward(int[] positions, int seat, int extraTurns, int dice) {
+                return true;
+            }
+        };
+    }
+
+    // Whichever direction lands on the higher tile.
+    public static Strategy furthestTile(BoardLayout board) {
+        int[] next = board.moveTable();
+        return new Strategy() {
+            public String name() {
+                return "furthest-tile";
+            }
+
+            public boolean forward(int[] positions, int seat, int extraTurns, int dice) {
+                int base = positions[seat] * 12 + dice - 1;
+                return next[base] >= next[base + 6];
+            }
+        };
+    }
+
+    // Whichever direction lands closer to the finish in green rolls (ShortestPathSolver's table).
+    public static Strategy fewestRolls(BoardLayout board) {
+        int[] next = board.moveTable();
+        int[] rolls = new ShortestPathSolver(board).getMinRollsTable();
+        return new Strategy() {
+            public String name() {
+                return "fewest-rolls";
+            }
+
+            public boolean forward(int[] positions, int seat, int extraTurns, int dice) {
+                int base = positions[seat] * 12 + dice - 1;
+                return rolls[next[base]] <= rolls[next[base + 6]];
+            }
+        };
+    }
+
+    // Whichever direction leaves the fewest expected turns handed to the opponents before the
+    // finish, playing this same way from then on. Unlike roll counts this prices star tiles: a
+    // star's two extra rolls cost no turn, which can make a step backward onto one worth it.
+    public static Strategy fewestTurns(BoardLayout board) {
+        int[] next = board.moveTable();
+        double[][] turns = expectedTurns(board);
+        return new Strategy() {
+            public String name() {
+                return "fewest-turns";
+            }
+
+            public boolean forward(int[] positions, int seat, int extraTurns, int dice) {
+                int base = positions[seat] * 12 + dice - 1;
+                double[] after = turns[extraTurns];
+                return after[next[base]] <= after[next[base + 6]];
+            }
+        };
+    }
+
+    // after[x][q]: expected turns handed over from landing on q, for a roll made with x extra turns
+    // left, under the best choice of direction on every later roll. Landing on the finish costs 0,
+    // on a star the next roll is free with one extra left, otherwise the next roll is free only if
+    // x was 1. Solved by value iteration, sweeping from the finish down; backward moves make the
+    // system cyclic, but every tile can move forward so it settles in a few sweeps.
+    static double[][] expectedTurns(BoardLayout board) {
+        int n = board.getNodeCount();
+        int[] next = board.moveTable();
+        double[][] roll = new double[2][n + 1];
+        double[][] after = new double[2][n + 1];
+        for (int sweep = 0; sweep < 10_000; sweep++) {
+            double change = 0;
+            for (int t = n; t >= 1; t--) {
+                for (int x = 0; x < 2; x++) {
+                    double v;
+                    if (t >= n) v = 0;
+                    else if (board.isStar(t)) v = roll[1][t];
+                    else v = x == 1 ? roll[0][t] : 1 + roll[0][t];
+                    after[x][t] = v;
+                }
+                if (t >= n) continue;
+                for (int x = 0; x < 2; x++) {
+                    double sum = 0;
+                    for (int d = 1; d <= 6; d++) {
+                        double f = after[x][next[t * 12 + d - 1]];
+                        double b = after[x][next[t * 12 + d + 5]];
+                        sum += Math.min(f, b);
+                    }
+                    double v = sum / 6;
+                    change = Math.max(change, Math.abs(v - roll[x][t]));
+                    roll[x][t] = v;
+                }
+            }
+            if (change < 1e-9) break;
+        }
+        return after;
+    }
+}
@@ -0,0 +1,12 @@
+// A bot player for the choosable-direction variant: the dice value is rolled, then the strategy
+// picks whether the token moves forward (a green move, ladders taken) or backward (a red move).
+// Strategies are built for one board and must be stateless afterwards, so one instance can play
+// on any number of threads at once. Strategies.baselines() lists the built-in ones.
+public interface Strategy {
+
+    String name();
+
+    // positions per seat (read only), the seat to move, its extra turns left before this roll
+    // (0 or 1, see GameLogic.advanceTurn) and the dice value. True moves forward.
+    boolean forward(int[] positions, int seat, int extraTurns, int dice);
+}
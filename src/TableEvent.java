@@ -0,0 +1,132 @@
+import java.nio.ByteBuffer;
+
+// What a table tells its players. A move is sent as its three anchor tiles (start, end of the walk,
+// end after a ladder) instead of the whole path; path() rebuilds the same tiles that
+// GameLogic.moveCurrentPlayer writes into a MovePath. Every event is a fixed 28-byte frame:
+//
+//   0 type | 1 flags | 2 seat | 3 next seat | 4 dice or error code | 5..7 unused
+//   8 table | 12 request | 16 from | 20 walk end | 24 to
+public final class TableEvent {
+
+    public static final int SIZE = 28;
+
+    public static final byte CREATED = 1;
+    public static final byte MOVE = 2;
+    public static final byte ERROR = 3;
+    public static final byte CLOSED = 4;
+
+    public static final int FLAG_GREEN = 0x01;
+    public static final int FLAG_WIN = 0x02;
+
+    public static final int NO_SUCH_TABLE = 1;
+    public static final int NOT_YOUR_TURN = 2;
+    public static final int BUSY = 3;
+    public static final int BAD_REQUEST = 4;
+
+    public final byte type;
+    public final int flags;
+    public final int seat;
+    public final int nextSeat;
+    public final int dice;
+    public final int table;
+    public final int request;
+    public final int from;
+    public final int walkEnd;
+    public final int to;
+
+    private TableEvent(byte type, int flags, int seat, int nextSeat, int dice, int table, int request,
+                       int from, int walkEnd, int to) {
+        this.type = type;
+        this.flags = flags;
+        this.seat = seat;
+        this.nextSeat = nextSeat;
+        this.dice = dice;
+        this.table = table;
+        this.request = request;
+        this.from = from;
+        this.walkEnd = walkEnd;
+        this.to = to;
+    }
+
+    public static TableEvent created(int table, int request, int firstSeat) {
+        return new TableEvent(CREATED, 0, 0, firstSeat, 0, table, request, 0, 0, 0);
+    }
+
+    public static TableEvent move(int table, int request, int seat, int dice, boolean green, boolean win,
+                                  int from, int walkEnd, int to, int nextSeat) {
+        int flags = (green ? FLAG_GREEN : 0) | (win ? FLAG_WIN : 0);
+        return new TableEvent(MOVE, flags, seat, nextSeat, dice, table, request, from, walkEnd, to);
+    }
+
+    public static TableEvent error(int table, int request, int code) {
+        return new TableEvent(ERROR, 0, 0, 0, code, table, request, 0, 0, 0);
+    }
+
+    public static TableEvent closed(int table, int request) {
+        return new TableEvent(CLOSED, 0, 0, 0, 0, table, request, 0, 0, 0);
+    }
+
+    public boolean isGreen() {
+        return (flags & FLAG_GREEN) != 0;
+    }
+
+    public boolean isWin() {
+        return (flags & FLAG_WIN) != 0;
+    }
+
+    // Tiles visited by a MOVE, start included, exactly as moveCurrentPlayer writes them
+    // (a walk clamped at either end repeats the end tile once).
+    public int[] path() {
+        int step = isGreen() ? 1 : -1;
+        int walked = Math.abs(walkEnd - from);
+        boolean clamped = walked < dice;
+        int length = 1 + walked + (clamped ? 1 : 0) + (to != walkEnd ? 1 : 0);
+        int[] path = new int[length];
+        int n = 0;
+        path[n++] = from;
+        for (int i = 1; i <= walked; i++) path[n++] = from + i * step;
+        if (clamped) path[n++] = walkEnd;
+        if (to != walkEnd) path[n] = to;
+        return path;
+    }
+
+    public void encode(ByteBuffer out) {
+        out.put(type);
+        out.put((byte) flags);
+        out.put((byte) seat);
+        out.put((byte) nextSeat);
+        out.put((byte) dice);
+        out.put((byte) 0).put((byte) 0).put((byte) 0);
+        out.putInt(table);
+        out.putInt(request);
+        out.putInt(from);
+        out.putInt(walkEnd);
+        out.putInt(to);
+    }
+
+    public static TableEvent decode(ByteBuffer in) {
+        byte type = in.get();
+        int flags = in.get();
+        int seat = in.get();
+        int nextSeat = in.get();
+        int dice = in.get();
+        in.position(in.position() + 3);
+        return new TableEvent(type, flags, seat, nextSeat, dice,
+                in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case CREATED:
+                return "created table " + table + " (first seat " + nextSeat + ")";
+            case MOVE:
+                return "table " + table + " seat " + seat + " rolled " + dice + (isGreen() ? " green " : " red ")
+                        + java.util.Arrays.toString(path()) + (isWin() ? " WIN" : " next " + nextSeat);
+            case ERROR:
+                return "table " + table + " request " + request + " error " + dice;
+            default:
+                return "table " + table + " closed";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+
+// Load generator for TableSocketServer: opens a few connections, creates many tables and keeps one
+// roll in flight per table (the next roll goes out as soon as the previous move arrives).
+// Prints throughput and round-trip latency percentiles.
+//
+// java TableLoadClient [port] [tables] [connections] [seconds] [players]
+public final class TableLoadClient {
+
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int tableCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int players = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+
+        Selector selector = Selector.open();
+        SocketChannel[] channels = new SocketChannel[connections];
+        ByteBuffer[] outs = new ByteBuffer[connections];
+        for (int i = 0; i < connections; i++) {
+            channels[i] = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+            channels[i].socket().setTcpNoDelay(true);
+            channels[i].configureBlocking(false);
+            channels[i].register(selector, SelectionKey.OP_READ, i);
+            outs[i] = ByteBuffer.allocateDirect(TableSocketServer.COMMAND_SIZE * (tableCount / connections + 1024));
+        }
+
+        // request ids are client table indexes; the server assigns the real table ids
+        int[] serverTable = new int[tableCount];
+        int[] connectionOf = new int[tableCount];
+        long[] sentAt = new long[tableCount];
+        for (int t = 0; t < tableCount; t++) {
+            connectionOf[t] = t % connections;
+            command(outs[connectionOf[t]], TableSocketServer.CMD_CREATE, players, 100, t, t);
+        }
+        flushAll(channels, outs);
+
+        long[] samples = new long[MAX_SAMPLES];
+        int sampleCount = 0;
+        long moves = 0, wins = 0, errors = 0;
+        long start = System.nanoTime();
+        long warmupEnd = start + 1_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+        long measuredMoves = 0;
+        ByteBuffer in = ByteBuffer.allocateDirect(TableEvent.SIZE * 4096);
+
+        while (System.nanoTime() < end) {
+            selector.select(100);
+            for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+                SelectionKey key = it.next();
+                it.remove();
+                SocketChannel ch = (SocketChannel) key.channel();
+                while (ch.read(in) > 0) {
+                    in.flip();
+                    long now = System.nanoTime();
+                    while (in.remaining() >= TableEvent.SIZE) {
+                        TableEvent e = TableEvent.decode(in);
+                        int t = e.request;
+                        if (e.type == TableEvent.CREATED) {
+                            serverTable[t] = e.table;
+                        } else if (e.type == TableEvent.MOVE) {
+                            moves++;
+                            if (e.isWin()) wins++;
+                            if (now > warmupEnd) {
+                                measuredMoves++;
+                                if (sampleCount < MAX_SAMPLES) samples[sampleCount++] = now - sentAt[t];
+                            }
+                        } else {
+                            errors++;
+                        }
+                        if (e.type == TableEvent.CREATED || e.type == TableEvent.MOVE) {
+                            sentAt[t] = now;
+                            command(outs[connectionOf[t]], TableSocketServer.CMD_ROLL, e.nextSeat, serverTable[t], t, 0);
+                        }
+                    }
+                    in.compact();
+                }
+            }
+            flushAll(channels, outs);
+        }
+
+        Arrays.sort(samples, 0, sampleCount);
+        double secs = (System.nanoTime() - warmupEnd) / 1e9;
+        System.out.printf("%d tables over %d connections, %d players each%n", tableCount, connections, players);
+        System.out.printf("%.0f moves/s, %d wins, %d errors (%d moves total)%n", measuredMoves / secs, wins, errors, moves);
+        if (sampleCount > 0) {
+            System.out.printf("round trip  p50 %.2f ms  p99 %.2f ms  p99.9 %.2f ms  max %.2f ms%n",
+                    pct(samples, sampleCount, 50), pct(samples, sampleCount, 99),
+                    pct(samples, sampleCount, 99.9), samples[sampleCount - 1] / 1e6);
+        }
+        for (SocketChannel ch : channels) ch.close();
+    }
+
+    private static double pct(long[] sorted, int n, double p) {
+        return sorted[Math.min(n - 1, (int) (n * p / 100))] / 1e6;
+    }
+
+    private static void command(ByteBuffer out, byte type, int arg, int target, int request, long seed) {
+        out.put(type);
+        out.put((byte) arg);
+        out.putShort((short) 0);
+        out.putInt(target);
+        out.putInt(request);
+        out.putLong(seed);
+    }
+
+    private static void flushAll(SocketChannel[] channels, ByteBuffer[] outs) throws java.io.IOException {
+        for (int i = 0; i < channels.length; i++) {
+            outs[i].flip();
+            while (outs[i].hasRemaining()) channels[i].write(outs[i]);
+            outs[i].clear();
+        }
+    }
+}
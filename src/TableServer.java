@@ -0,0 +1,200 @@
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hosts many independent tables in one JVM. Each table is owned by exactly one event loop thread
+// (table id modulo loop count), and only that thread ever touches its GameLogic, so game state needs
+// no locks. Callers post commands; results come back as TableEvents on the owning loop's thread.
+public final class TableServer implements Closeable {
+
+    // Receives a table's events on its loop thread; must not block.
+    public interface EventSink {
+        void onEvent(TableEvent event);
+    }
+
+    // commands a single table may have queued before further rolls are turned away
+    static final int MAX_PENDING_PER_TABLE = 8;
+    private static final int LOOP_QUEUE = 1 << 16;
+    private static final int DRAIN_BATCH = 256;
+
+    private final Loop[] loops;
+    private final AtomicInteger nextTableId = new AtomicInteger();
+    // pending command count per table, readable by any thread
+    private final Map<Integer, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    public TableServer(int loopCount) {
+        loops = new Loop[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            loops[i] = new Loop(i);
+            loops[i].thread.start();
+        }
+    }
+
+    // New table with players "P1".."Pn"; a CREATED event follows on the sink.
+    public int createTable(int nodeCount, int players, long seed, int request, EventSink sink) {
+        List<String> names = new ArrayList<>(players);
+        for (int i = 1; i <= players; i++) names.add("P" + i);
+        return createTable(nodeCount, names, seed, request, sink);
+    }
+
+    // Returns the new table's id, or -1 when its loop is too busy (a BUSY error has been sent).
+    // A table the loop fails to build is answered with BAD_REQUEST instead of CREATED.
+    public int createTable(int nodeCount, List<String> names, long seed, int request, EventSink sink) {
+        int id = nextTableId.getAndIncrement();
+        pending.put(id, new AtomicInteger());
+        Loop loop = loopFor(id);
+        if (!loop.queue.offer(() -> {
+            Table table;
+            try {
+                table = new Table(id, new GameLogic(nodeCount, names, seed), sink);
+            } catch (RuntimeException | OutOfMemoryError e) {
+                pending.remove(id);
+                sink.onEvent(TableEvent.error(id, request, TableEvent.BAD_REQUEST));
+                return;
+            }
+            loop.tables.put(id, table);
+            sink.onEvent(TableEvent.created(id, request, table.game.getCurrentPlayerIndex()));
+        })) {
+            pending.remove(id);
+            sink.onEvent(TableEvent.error(id, request, TableEvent.BUSY));
+            return -1;
+        }
+        return id;
+    }
+
+    // Asks the table to roll for seat. Returns false (and sends nothing) if the table is unknown
+    // or already has too many commands queued.
+    public boolean roll(int tableId, int seat, int request) {
+        AtomicInteger backlog = pending.get(tableId);
+        if (backlog == null || backlog.incrementAndGet() > MAX_PENDING_PER_TABLE) {
+            if (backlog != null) backlog.decrementAndGet();
+            return false;
+        }
+        Loop loop = loopFor(tableId);
+        if (!loop.queue.offer(() -> {
+            backlog.decrementAndGet();
+            loop.roll(tableId, seat, request);
+        })) {
+            backlog.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Never refused: when the loop's queue is full the close waits in its overflow list, which
+    // the loop empties after every batch, so the table is always released and CLOSED always sent.
+    public void closeTable(int tableId, int request) {
+        if (pending.remove(tableId) == null) return;
+        Loop loop = loopFor(tableId);
+        Runnable close = () -> {
+            Table table = loop.tables.remove(tableId);
+            if (table != null) table.sink.onEvent(TableEvent.closed(tableId, request));
+        };
+        if (!loop.queue.offer(close)) {
+            loop.overflow.add(close);
+            // a loop that emptied its queue meanwhile is woken; if this fails too it is busy anyway
+            loop.queue.offer(Loop.WAKE);
+        }
+    }
+
+    public int getTableCount() {
+        return pending.size();
+    }
+
+    private Loop loopFor(int tableId) {
+        return loops[Math.floorMod(tableId, loops.length)];
+    }
+
+    @Override
+    public void close() {
+        for (Loop loop : loops) loop.thread.interrupt();
+        for (Loop loop : loops) {
+            try {
+                loop.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Table {
+        final int id;
+        final GameLogic game;
+        final EventSink sink;
+
+        Table(int id, GameLogic game, EventSink sink) {
+            this.id = id;
+            this.game = game;
+            this.sink = sink;
+        }
+    }
+
+    private static final class Loop implements Runnable {
+        static final Runnable WAKE = () -> { };
+
+        final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(LOOP_QUEUE);
+        // closes that found the queue full; at most one per table
+        final Queue<Runnable> overflow = new ConcurrentLinkedQueue<>();
+        final Map<Integer, Table> tables = new HashMap<>();
+        final Thread thread;
+
+        Loop(int index) {
+            thread = new Thread(this, "table-loop-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Runnable> batch = new ArrayList<>(DRAIN_BATCH);
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, DRAIN_BATCH - 1);
+                    for (Runnable command : batch) runSafely(command);
+                    batch.clear();
+                    for (Runnable command; (command = overflow.poll()) != null; ) runSafely(command);
+                }
+            } catch (InterruptedException e) {
+                // server closing
+            }
+        }
+
+        private static void runSafely(Runnable command) {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                // one broken table (even one that ran out of memory) must not stop the others on this loop
+                e.printStackTrace();
+            }
+        }
+
+        void roll(int tableId, int seat, int request) {
+            Table table = tables.get(tableId);
+            if (table == null) return;
+            GameLogic game = table.game;
+            if (seat != game.getCurrentPlayerIndex()) {
+                table.sink.onEvent(TableEvent.error(tableId, request, TableEvent.NOT_YOUR_TURN));
+                return;
+            }
+
+            GameLogic.Player player = game.getCurrentPlayer();
+            int from = player.position;
+            int dice = game.rollDice();
+            boolean green = player.greenMove;
+            game.moveCurrentPlayer(dice);
+            int walkEnd = green ? Math.min(from + dice, game.getNodeCount()) : Math.max(from - dice, 1);
+            int to = player.position;
+
+            boolean win = game.getLayout().isFinish(to);
+            if (win) {
+                game.recordWin(player.name);
+                game.resetGame();
+            } else {
+                game.advanceTurn();
+            }
+            table.sink.onEvent(TableEvent.move(tableId, request, seat, dice, green, win,
+                    from, walkEnd, to, game.getCurrentPlayerIndex()));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Localhost front end for TableServer. One selector thread reads fixed 20-byte commands and writes
+// back 28-byte TableEvents; the table loops only append encoded events to a connection's buffer.
+//
+// Command frame: 0 type | 1 players or seat | 2..3 unused | 4 node count or table | 8 request | 12 seed
+public final class TableSocketServer implements Closeable, Runnable {
+
+    public static final int COMMAND_SIZE = 20;
+    public static final byte CMD_CREATE = 1;
+    public static final byte CMD_ROLL = 2;
+    public static final byte CMD_CLOSE = 3;
+
+    // a client this far behind on reading its events is disconnected
+    private static final int OUTBOUND_LIMIT = 1 << 20;
+    // what one connection may ask for: boards up to 100x100, and tables and tiles in total, so a
+    // single frame or a flood of them cannot take a table loop's memory
+    static final int MAX_TILES = 10_000;
+    static final int MAX_TABLES_PER_CONNECTION = 4096;
+    static final int MAX_TILES_PER_CONNECTION = 1 << 20;
+
+    private final TableServer tables;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Queue<Connection> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Thread thread;
+
+    public TableSocketServer(TableServer tables, int port) throws IOException {
+        this.tables = tables;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this, "table-socket");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+                wakeupPending.set(false);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) continue;
+                        if (key.isAcceptable()) accept();
+                        if (key.isValid() && key.isReadable()) ((Connection) key.attachment()).read();
+                        if (key.isValid() && key.isWritable()) ((Connection) key.attachment()).flush();
+                    } catch (IOException | CancelledKeyException e) {
+                        if (key.attachment() != null) ((Connection) key.attachment()).close();
+                    }
+                }
+                for (Connection c; (c = dirty.poll()) != null; ) {
+                    try {
+                        c.flush();
+                    } catch (IOException e) {
+                        c.close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // server closing
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection c = new Connection(channel);
+        c.key = channel.register(selector, SelectionKey.OP_READ, c);
+    }
+
+    @Override
+    public void close() throws IOException {
+        selector.close();
+        server.close();
+    }
+
+    private final class Connection implements TableServer.EventSink {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(COMMAND_SIZE * 512);
+        final ByteBuffer out = ByteBuffer.allocateDirect(OUTBOUND_LIMIT);
+        // table id -> tiles
+        final Map<Integer, Integer> ownedTables = new HashMap<>();
+        int ownedTiles;
+        SelectionKey key;
+        boolean queued;
+        volatile boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            in.flip();
+            while (in.remaining() >= COMMAND_SIZE) {
+                byte type = in.get();
+                int arg = in.get();
+                in.getShort();
+                int target = in.getInt();
+                int request = in.getInt();
+                long seed = in.getLong();
+                handle(type, arg, target, request, seed);
+            }
+            in.compact();
+        }
+
+        private void handle(byte type, int arg, int target, int request, long seed) {
+            switch (type) {
+                case CMD_CREATE:
+                    if (arg < 1 || arg > 100 || target < 2 || target > MAX_TILES
+                            || ownedTables.size() >= MAX_TABLES_PER_CONNECTION
+                            || ownedTiles + target > MAX_TILES_PER_CONNECTION) {
+                        onEvent(TableEvent.error(-1, request, TableEvent.BAD_REQUEST));
+                        return;
+                    }
+                    int id = tables.createTable(target, arg, seed, request, this);
+                    if (id >= 0) {
+                        ownedTables.put(id, target);
+                        ownedTiles += target;
+                    }
+                    break;
+                case CMD_ROLL:
+                    if (!ownedTables.containsKey(target)) {
+                        onEvent(TableEvent.error(target, request, TableEvent.NO_SUCH_TABLE));
+                    } else if (!tables.roll(target, arg, request)) {
+                        onEvent(TableEvent.error(target, request, TableEvent.BUSY));
+                    }
+                    break;
+                case CMD_CLOSE:
+                    Integer tiles = ownedTables.remove(target);
+                    if (tiles != null) {
+                        ownedTiles -= tiles;
+                        tables.closeTable(target, request);
+                    }
+                    break;
+                default:
+                    onEvent(TableEvent.error(target, request, TableEvent.BAD_REQUEST));
+            }
+        }
+
+        // Any thread: table loops for game events, the selector thread for errors.
+        @Override
+        public void onEvent(TableEvent event) {
+            if (closed) return;
+            boolean schedule;
+            synchronized (out) {
+                if (out.remaining() < TableEvent.SIZE) closed = true;
+                else event.encode(out);
+                schedule = !queued;
+                queued = true;
+            }
+            if (schedule) {
+                dirty.add(this);
+                if (Thread.currentThread() != thread && wakeupPending.compareAndSet(false, true)) selector.wakeup();
+            }
+        }
+
+        void flush() throws IOException {
+            if (closed) {
+                close();
+                return;
+            }
+            synchronized (out) {
+                queued = false;
+                out.flip();
+                channel.write(out);
+                out.compact();
+                boolean more = out.position() > 0;
+                if (key.isValid()) key.interestOps(more ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            closed = true;
+            for (int table : ownedTables.keySet()) tables.closeTable(table, 0);
+            ownedTables.clear();
+            ownedTiles = 0;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // java TableSocketServer [port] [loops]
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int loops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        TableServer tables = new TableServer(loops);
+        TableSocketServer server = new TableSocketServer(tables, port);
+        server.start();
+        System.out.println("RollDice table server on 127.0.0.1:" + server.getPort() + " with " + loops + " loops");
+        server.thread.join();
+    }
+}
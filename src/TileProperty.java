@@ -0,0 +1,41 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A per-tile rule, evaluated once per board into a TileSet so lookups are a single bit test.
+// Built-in rules are below. A new rule is created once with register() and kept in a constant:
+//   static final TileProperty EVEN = TileProperty.register(layout -> ...);
+// BoardLayout caches one TileSet per registered rule and refuses any other, since a lambda written
+// at the call site would be a new cache key, and a full evaluation, on every lookup.
+@FunctionalInterface
+public interface TileProperty {
+
+    TileSet compute(BoardLayout layout);
+
+    TileProperty STAR = register(BoardLayout::getStarTiles);
+
+    TileProperty PRIME = register(BoardLayout::getPrimeTiles);
+
+    TileProperty FINISH = register(layout -> TileSet.of(layout.getNodeCount(), List.of(layout.getNodeCount())));
+
+    TileProperty LADDER = register(layout -> {
+        List<Integer> sources = new ArrayList<>();
+        for (int i = 0; i < layout.getLadderCount(); i++) sources.add(layout.getLadderSource(i));
+        return TileSet.of(layout.getNodeCount(), sources);
+    });
+
+    static TileProperty register(TileProperty rule) {
+        Registry.RULES.add(rule);
+        return rule;
+    }
+
+    static boolean isRegistered(TileProperty rule) {
+        return Registry.RULES.contains(rule);
+    }
+
+    final class Registry {
+        private static final Set<TileProperty> RULES = ConcurrentHashMap.newKeySet();
+
+        private Registry() {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.*;
+
+// Immutable set of board tiles as a bitmap, one bit per tile (10^7 tiles take about 1.2 MB).
+public final class TileSet {
+
+    private static final int SIEVE_SEGMENT = 1 << 18;
+
+    private final int nodeCount;
+    private final long[] bits;
+
+    private TileSet(int nodeCount, long[] bits) {
+        this.nodeCount = nodeCount;
+        this.bits = bits;
+    }
+
+    public static TileSet empty(int nodeCount) {
+        return new TileSet(nodeCount, new long[(nodeCount >> 6) + 1]);
+    }
+
+    public static TileSet of(int nodeCount, Collection<Integer> tiles) {
+        long[] bits = new long[(nodeCount >> 6) + 1];
+        for (int tile : tiles) {
+            if (tile >= 0 && tile <= nodeCount) bits[tile >> 6] |= 1L << tile;
+        }
+        return new TileSet(nodeCount, bits);
+    }
+
+    // Prime tiles up to nodeCount, by a segmented sieve of Eratosthenes: base primes up to
+    // sqrt(nodeCount) are sieved first, then each 2^18-tile segment is crossed off while it is in cache.
+    public static TileSet primes(int nodeCount) {
+        long[] bits = new long[(nodeCount >> 6) + 1];
+        if (nodeCount < 2) return new TileSet(nodeCount, bits);
+
+        int root = (int) Math.sqrt(nodeCount);
+        while ((long) (root + 1) * (root + 1) <= nodeCount) root++;
+        boolean[] composite = new boolean[root + 1];
+        int[] base = new int[root + 1];
+        int baseCount = 0;
+        for (int i = 2; i <= root; i++) {
+            if (composite[i]) continue;
+            base[baseCount++] = i;
+            for (int j = i * i; j <= root; j += i) composite[j] = true;
+        }
+
+        for (int lo = 0; lo <= nodeCount; lo += SIEVE_SEGMENT) {
+            int hi = (int) Math.min((long) lo + SIEVE_SEGMENT - 1, nodeCount);
+            Arrays.fill(bits, lo >> 6, (hi >> 6) + 1, -1L);
+            for (int i = 0; i < baseCount; i++) {
+                int p = base[i];
+                long m = Math.max((long) p * p, (lo + p - 1L) / p * p);
+                for (; m <= hi; m += p) bits[(int) (m >> 6)] &= ~(1L << m);
+            }
+        }
+
+        bits[0] &= ~3L;
+        int last = nodeCount & 63;
+        if (last != 63) bits[nodeCount >> 6] &= (1L << (last + 1)) - 1;
+        return new TileSet(nodeCount, bits);
+    }
+
+    public boolean contains(int tile) {
+        return tile >= 0 && tile <= nodeCount && (bits[tile >> 6] & (1L << tile)) != 0;
+    }
+
+    // First tile >= from in the set, or -1.
+    public int next(int from) {
+        if (from < 0) from = 0;
+        if (from > nodeCount) return -1;
+        int w = from >> 6;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+    }
+
+    public int size() {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,280 @@
+import java.util.*;
+import java.util.stream.IntStream;
+
+// Round-robin between strategies in the choosable-direction variant, two seats per game. Every
+// ordered pair plays the same number of games, so each pairing is played from both seats. Games
+// are cut into chunks with their own split RNG streams and spread over all cores; the result
+// depends on the seed only, not on the thread count. Ratings are a Bradley-Terry fit of the win
+// counts on the Elo scale, with 95% intervals from the fit's Fisher information.
+//
+// java Tournament [games per ordered pair] [tiles] [seed]
+public final class Tournament {
+
+    private static final int CHUNK_GAMES = 1 << 14;
+    private static final double ELO = 400 / Math.log(10);
+
+    private final BoardLayout board;
+    private final List<Strategy> strategies;
+    private final int[] next;
+    private final boolean[] star;
+    private final int nodeCount;
+    private final int maxTurns;
+
+    public Tournament(BoardLayout board, List<Strategy> strategies) {
+        if (strategies.size() < 2) throw new IllegalArgumentException("need at least two strategies");
+        this.board = board;
+        this.strategies = List.copyOf(strategies);
+        this.nodeCount = board.getNodeCount();
+        this.next = board.moveTable();
+        this.star = new boolean[nodeCount + 1];
+        for (int i = 1; i <= nodeCount; i++) star[i] = board.isStar(i);
+        // one below the int range, so the turn <= maxTurns loop always ends
+        this.maxTurns = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(10_000L, nodeCount * 100L));
+    }
+
+    public Result run(long gamesPerPair, long seed) {
+        int k = strategies.size();
+        int pairs = k * (k - 1);
+        int chunksPerPair = (int) ((gamesPerPair + CHUNK_GAMES - 1) / CHUNK_GAMES);
+        int chunks = pairs * chunksPerPair;
+        SplittableRandom master = new SplittableRandom(seed);
+        long[] seeds = new long[chunks];
+        for (int c = 0; c < chunks; c++) seeds[c] = master.split().nextLong();
+
+        long start = System.nanoTime();
+        Result result = IntStream.range(0, chunks).parallel().collect(
+                () -> new Result(strategies),
+                (r, c) -> {
+                    int pair = c / chunksPerPair;
+                    int first = pair / (k - 1);
+                    int second = pair % (k - 1);
+                    if (second >= first) second++;
+                    long count = Math.min(CHUNK_GAMES, gamesPerPair - (long) (c % chunksPerPair) * CHUNK_GAMES);
+                    playChunk(first, second, count, new SplittableRandom(seeds[c]), r);
+                    if (Metrics.ENABLED) Metrics.GAMES.add(count);
+                },
+                Result::merge);
+        result.nanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void playChunk(int first, int second, long games, SplittableRandom rand, Result r) {
+        Strategy[] seats = {strategies.get(first), strategies.get(second)};
+        int[] positions = new int[2];
+        int[] extraTurns = new int[2];
+        for (long g = 0; g < games; g++) {
+            int winner = playGame(seats, positions, extraTurns, rand, r);
+            r.games++;
+            if (winner == 0) r.wins[first][second]++;
+            else if (winner == 1) r.wins[second][first]++;
+            else r.draws[first][second]++;
+        }
+    }
+
+    // Same rules as GameLogic; returns the winning seat or -1 at the turn cap, turns are added to r.
+    private int playGame(Strategy[] seats, int[] positions, int[] extraTurns, SplittableRandom rand, Result r) {
+        Arrays.fill(positions, 1);
+        Arrays.fill(extraTurns, 0);
+        int current = 0;
+        for (int turn = 1; turn <= maxTurns; turn++) {
+            int dice = rand.nextInt(6) + 1;
+            boolean forward = seats[current].forward(positions, current, extraTurns[current], dice);
+            int pos = next[positions[current] * 12 + dice - 1 + (forward ? 0 : 6)];
+            positions[current] = pos;
+
+            if (star[pos]) extraTurns[current] = 2;
+            if (pos >= nodeCount) {
+                r.turns += turn;
+                return current;
+            }
+            if (extraTurns[current] > 0) extraTurns[current]--;
+            else current ^= 1;
+        }
+        r.turns += maxTurns;
+        return -1;
+    }
+
+    public BoardLayout getBoard() {
+        return board;
+    }
+
+    public static final class Result {
+        private final List<Strategy> strategies;
+        // wins[a][b]: games a won against b, draws[a][b]: turn-capped games with a in the first seat
+        final long[][] wins;
+        final long[][] draws;
+        long games;
+        long turns;
+        long nanos;
+
+        private double[] rating;
+        private double[] error;
+
+        Result(List<Strategy> strategies) {
+            this.strategies = strategies;
+            int k = strategies.size();
+            this.wins = new long[k][k];
+            this.draws = new long[k][k];
+        }
+
+        Result merge(Result other) {
+            for (int a = 0; a < wins.length; a++) {
+                for (int b = 0; b < wins.length; b++) {
+                    wins[a][b] += other.wins[a][b];
+                    draws[a][b] += other.draws[a][b];
+                }
+            }
+            games += other.games;
+            turns += other.turns;
+            return this;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public double getGamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1e9 / nanos;
+        }
+
+        // Points a scored against b: wins plus half of the drawn games, from either seat.
+        public double score(int a, int b) {
+            return wins[a][b] + (draws[a][b] + draws[b][a]) / 2.0;
+        }
+
+        public double games(int a, int b) {
+            return wins[a][b] + wins[b][a] + draws[a][b] + draws[b][a];
+        }
+
+        // Elo ratings averaging 0.
+        public double[] ratings() {
+            fit();
+            return rating.clone();
+        }
+
+        // Half-width of each rating's 95% interval, in Elo points.
+        public double[] errors() {
+            fit();
+            return error.clone();
+        }
+
+        // Bradley-Terry by minorization-maximization (Hunter 2004). Every pair gets one extra drawn
+        // game, so a strategy that never wins still has a finite rating.
+        private void fit() {
+            if (rating != null) return;
+            int k = wins.length;
+            double[] gamma = new double[k];
+            Arrays.fill(gamma, 1);
+            double[] points = new double[k];
+            double[][] n = new double[k][k];
+            for (int a = 0; a < k; a++) {
+                for (int b = 0; b < k; b++) {
+                    if (a == b) continue;
+                    points[a] += score(a, b) + 0.5;
+                    n[a][b] = games(a, b) + 1;
+                }
+            }
+
+            for (int iter = 0; iter < 10_000; iter++) {
+                double change = 0, logSum = 0;
+                for (int a = 0; a < k; a++) {
+                    double denominator = 0;
+                    for (int b = 0; b < k; b++) if (b != a) denominator += n[a][b] / (gamma[a] + gamma[b]);
+                    double updated = points[a] / denominator;
+                    change = Math.max(change, Math.abs(Math.log(updated / gamma[a])));
+                    gamma[a] = updated;
+                }
+                for (double g : gamma) logSum += Math.log(g);
+                double scale = Math.exp(-logSum / k);
+                for (int a = 0; a < k; a++) gamma[a] *= scale;
+                if (change < 1e-12) break;
+            }
+
+            // Fisher information of the log-strengths is a weighted graph Laplacian; its
+            // pseudo-inverse (L + J/k)^-1 - J/k is the covariance under the sum-to-zero constraint.
+            double[][] m = new double[k][k];
+            for (int a = 0; a < k; a++) {
+                for (int b = 0; b < k; b++) {
+                    if (a == b) continue;
+                    double p = gamma[a] / (gamma[a] + gamma[b]);
+                    double w = n[a][b] * p * (1 - p);
+                    m[a][b] -= w;
+                    m[a][a] += w;
+                }
+            }
+            for (int a = 0; a < k; a++) for (int b = 0; b < k; b++) m[a][b] += 1.0 / k;
+            double[][] inverse = invert(m);
+
+            rating = new double[k];
+            error = new double[k];
+            for (int a = 0; a < k; a++) {
+                rating[a] = ELO * Math.log(gamma[a]);
+                error[a] = 1.96 * ELO * Math.sqrt(Math.max(0, inverse[a][a] - 1.0 / k));
+            }
+        }
+
+        // Gauss-Jordan with partial pivoting; k is the number of strategies, so tiny.
+        private static double[][] invert(double[][] m) {
+            int k = m.length;
+            double[][] a = new double[k][2 * k];
+            for (int i = 0; i < k; i++) {
+                System.arraycopy(m[i], 0, a[i], 0, k);
+                a[i][k + i] = 1;
+            }
+            for (int c = 0; c < k; c++) {
+                int pivot = c;
+                for (int r = c + 1; r < k; r++) if (Math.abs(a[r][c]) > Math.abs(a[pivot][c])) pivot = r;
+                double[] swap = a[c]; a[c] = a[pivot]; a[pivot] = swap;
+                double d = a[c][c];
+                for (int j = 0; j < 2 * k; j++) a[c][j] /= d;
+                for (int r = 0; r < k; r++) {
+                    if (r == c || a[r][c] == 0) continue;
+                    double f = a[r][c];
+                    for (int j = 0; j < 2 * k; j++) a[r][j] -= f * a[c][j];
+                }
+            }
+            double[][] inverse = new double[k][k];
+            for (int i = 0; i < k; i++) System.arraycopy(a[i], k, inverse[i], 0, k);
+            return inverse;
+        }
+
+        @Override
+        public String toString() {
+            double[] r = ratings();
+            double[] e = errors();
+            Integer[] order = new Integer[r.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (x, y) -> Double.compare(r[y], r[x]));
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-16s %8s %7s %12s %7s%n", "strategy", "elo", "95%", "games", "score"));
+            for (int a : order) {
+                double points = 0, played = 0;
+                for (int b = 0; b < r.length; b++) {
+                    if (b == a) continue;
+                    points += score(a, b);
+                    played += games(a, b);
+                }
+                sb.append(String.format("%-16s %+8.1f %7.1f %12.0f %6.2f%%%n",
+                        strategies.get(a).name(), r[a], e[a], played, 100 * points / played));
+            }
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) {
+        long gamesPerPair = args.length > 0 ? Long.parseLong(args[0]) : 200_000L;
+        int tiles = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        BoardLayout board = new GameLogic(tiles, List.of("A", "B"), seed).getLayout();
+        Tournament tournament = new Tournament(board, Strategies.baselines(board));
+        tournament.run(Math.min(gamesPerPair, 50_000L), seed); // warm-up
+
+        Result result = tournament.run(gamesPerPair, seed);
+        System.out.printf("%d games on %d cores in %.3f s -> %.0f games/sec, %.1f turns/game%n",
+                result.getGames(), Runtime.getRuntime().availableProcessors(), result.nanos / 1e9,
+                result.getGamesPerSecond(), (double) result.turns / result.getGames());
+        System.out.print(result);
+    }
+}